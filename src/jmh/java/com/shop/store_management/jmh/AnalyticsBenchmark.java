@@ -0,0 +1,65 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.analytics.CategoryTotals;
+import com.shop.store_management.analytics.ColumnarCatalog;
+import com.shop.store_management.analytics.PriceDistribution;
+import com.shop.store_management.analytics.StockLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the analytics aggregations over a columnar snapshot of {@code rows} products spread
+ * over 50 categories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class AnalyticsBenchmark {
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    @Param({"1000000"})
+    private int rows;
+
+    private ColumnarCatalog catalog;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        catalog = new ColumnarCatalog();
+        for (int id = 1; id <= rows; id++) {
+            catalog.put(id, random.nextLong(100, 1_000_000), random.nextInt(0, 500), "category-" + random.nextInt(50));
+        }
+    }
+
+    @Benchmark
+    public List<CategoryTotals> totalsByCategory() {
+        return catalog.totalsByCategory();
+    }
+
+    @Benchmark
+    public PriceDistribution pricePercentiles() {
+        return catalog.priceDistribution(null, PERCENTILES);
+    }
+
+    @Benchmark
+    public List<StockLevel> lowStock() {
+        return catalog.stockBelow(5, 100);
+    }
+}
@@ -0,0 +1,64 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.config.AuthenticationCacheProperties;
+import com.shop.store_management.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentications per second for a client that sends the same HTTP Basic credentials on every
+ * request, with and without the verified-credential cache in front of BCrypt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    @Param({"on", "off"})
+    private String cache;
+
+    private AuthenticationProvider provider;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        UserDetailsService users = new InMemoryUserDetailsManager(
+                User.withUsername("user").password(encoder.encode("pass")).roles("USER").build());
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(users);
+        dao.setPasswordEncoder(encoder);
+        provider = "on".equals(cache)
+                ? new CachingAuthenticationProvider(dao, users, new AuthenticationCacheProperties(),
+                        new SimpleMeterRegistry())
+                : dao;
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass"));
+    }
+}
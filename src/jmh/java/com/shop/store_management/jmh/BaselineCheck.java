@@ -0,0 +1,82 @@
+package com.shop.store_management.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the stored baseline and exits non-zero when any benchmark
+ * regressed by more than the tolerance. The run's own error margin is given to the benchmark first,
+ * so a noisy but unchanged DB benchmark does not fail the build. The baseline uses the JMH result
+ * format (raw samples may be dropped), so refreshing it after an intended change is
+ * {@code cp target/jmh-result.json src/jmh/baseline.json}.
+ *
+ * <p>Benchmarks missing from either side are reported and skipped, so running a subset through
+ * {@code -Djmh.args} still checks what was run.
+ */
+public final class BaselineCheck {
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineCheck <result.json> <baseline.json> <tolerance>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> results = load(new File(args[0]));
+        Map<String, JsonNode> baseline = load(new File(args[1]));
+        double tolerance = Double.parseDouble(args[2]);
+
+        List<String> regressions = new ArrayList<>();
+        results.forEach((key, result) -> {
+            JsonNode expected = baseline.get(key);
+            if (expected == null) {
+                System.out.printf("[jmh] %s: no baseline%n", key);
+                return;
+            }
+            String mode = result.path("mode").asText();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+            if (Double.isNaN(error)) {
+                error = 0;
+            }
+            double reference = expected.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+            // throughput: higher is better; every other mode measures time, lower is better
+            boolean throughput = "thrpt".equals(mode);
+            double change = throughput ? (reference - score) / reference : (score - reference) / reference;
+            double bestCase = throughput ? (reference - score - error) / reference : (score - error - reference) / reference;
+            String line = String.format("%s: %.3f +/- %.3f %s (baseline %.3f, %+.1f%%)", key, score, error, unit,
+                    reference, (throughput ? -change : change) * 100);
+            System.out.println("[jmh] " + line);
+            if (bestCase > tolerance) {
+                regressions.add(line);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("[jmh] %d benchmark(s) regressed by more than %.0f%%:%n", regressions.size(), tolerance * 100);
+            regressions.forEach(line -> System.err.println("[jmh]   " + line));
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String benchmark = run.path("benchmark").asText().replace("com.shop.store_management.jmh.", "");
+            byKey.put(params.isEmpty() ? benchmark : benchmark + params, run);
+        }
+        return byKey;
+    }
+}
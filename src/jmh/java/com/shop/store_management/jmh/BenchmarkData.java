@@ -0,0 +1,53 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic catalog fixtures so runs are comparable with the stored baseline.
+ */
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Garden", "Toys", "Kitchen", "Sports"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .name("Product " + i)
+                    .description("Benchmark product number " + i + " with a realistic description length")
+                    .price(price(i))
+                    .stockQuantity(i % 250)
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .version((long) i % 7)
+                    .build());
+        }
+        return products;
+    }
+
+    static List<ProductDto> productDtos(String prefix, int count) {
+        List<ProductDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(ProductDto.builder()
+                    .name(prefix + " " + i)
+                    .description("Benchmark product number " + i)
+                    .price(price(i))
+                    .stockQuantity(i % 250)
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .build());
+        }
+        return dtos;
+    }
+
+    static BigDecimal price(int i) {
+        return BigDecimal.valueOf(100 + (i * 37L) % 100_000, 2);
+    }
+}
@@ -0,0 +1,87 @@
+package com.shop.store_management.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.shop.store_management.mapper.ProductJsonSerializer;
+import com.shop.store_management.model.dtos.ProductPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost and payload size of a product page in each negotiable representation, with and without
+ * gzip as Tomcat applies it. The body size is printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    @Param({"500", "10000"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+
+    private ProductPage page;
+
+    private int payloadBytes;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().serializers(new ProductJsonSerializer());
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+        page = ProductPage.builder()
+                .items(BenchmarkData.products(items))
+                .size(items)
+                .sort("id")
+                .nextCursor("aWR8NTAwfA")
+                .build();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(buffer) : buffer;
+        // closes the stream, which finishes the gzip trailer
+        objectMapper.writeValue(out, page);
+        payloadBytes = buffer.size();
+        return payloadBytes;
+    }
+
+    @TearDown
+    public void reportPayload() {
+        System.out.printf("%n[payload] %s/%s, %d items: %d bytes%n", format, encoding, items, payloadBytes);
+    }
+}
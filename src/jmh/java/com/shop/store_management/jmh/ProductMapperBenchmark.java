@@ -0,0 +1,58 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.mapper.ProductMapper;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping cost as the catalog grows. {@code toDto} picks a different entity each call
+ * so the JIT cannot fold the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductMapperBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int catalogSize;
+
+    private final ProductMapper mapper = new ProductMapper();
+
+    private List<Product> products;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(catalogSize);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ProductDto toDto() {
+        next = next + 1 == catalogSize ? 0 : next + 1;
+        return mapper.toDto(products.get(next));
+    }
+
+    @Benchmark
+    public List<ProductDto> toDtoList() {
+        return mapper.toDtoList(products);
+    }
+}
@@ -0,0 +1,90 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPage;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link ProductService} through the full Spring proxy chain against embedded H2,
+ * with and without the product cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductReadBenchmark {
+
+    private static final int CATALOG_SIZE = 20_000;
+
+    @Param({"caffeine", "none"})
+    private String cache;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    private String deepCursor;
+
+    private long[] ids;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = StoreContext.start(CATALOG_SIZE, cache);
+        productService = context.getBean(ProductService.class);
+
+        ids = productService.getAllProducts(null, 1000, ProductSortField.ID).getItems().stream()
+                .mapToLong(Product::getId)
+                .toArray();
+        ProductPage page = productService.getAllProducts(null, 500, ProductSortField.PRICE);
+        for (int i = 0; i < 20; i++) {
+            page = productService.getAllProducts(page.getNextCursor(), 500, ProductSortField.PRICE);
+        }
+        deepCursor = page.getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Cycles over the first 1000 products, so with the cache on every call after warm-up is a hit.
+     */
+    @Benchmark
+    public ProductDto getProductById() {
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return productService.getProductById(ids[next]);
+    }
+
+    @Benchmark
+    public ProductPage getAllProductsFirstPage() {
+        return productService.getAllProducts(null, null, ProductSortField.ID);
+    }
+
+    @Benchmark
+    public ProductPage getAllProductsDeepPageByPrice() {
+        return productService.getAllProducts(deepCursor, null, ProductSortField.PRICE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.shop.store_management.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.mapper.ProductJsonSerializer;
+import com.shop.store_management.mapper.ProductMapper;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of a response body, using an {@link ObjectMapper} configured the way Spring MVC builds it.
+ * {@code writeList} serializes ready-made DTOs; {@code mapAndWriteList} adds the mapping from entities
+ * that a list endpoint used to pay, and {@code writeEntityList} writes the entities directly through
+ * {@link ProductJsonSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    @Param({"50", "500", "10000"})
+    private int items;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializers(new ProductJsonSerializer())
+            .build();
+
+    private final ProductMapper mapper = new ProductMapper();
+
+    private List<Product> products;
+
+    private List<ProductDto> dtos;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(items);
+        dtos = mapper.toDtoList(products);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndWriteList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.toDtoList(products));
+    }
+
+    @Benchmark
+    public byte[] writeEntityList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,89 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.BatchItemResult;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.service.ProductBatchService;
+import com.shop.store_management.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write paths against embedded H2. The table grows during the run, which is what production sees too;
+ * each trial starts from a fresh database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductWriteBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    private static final int BATCH_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    private ProductBatchService batchService;
+
+    private ProductDto template;
+
+    private List<ProductDto> batch;
+
+    private long[] ids;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = StoreContext.start(CATALOG_SIZE, "caffeine");
+        productService = context.getBean(ProductService.class);
+        batchService = context.getBean(ProductBatchService.class);
+        template = BenchmarkData.productDtos("Created", 1).get(0);
+        batch = BenchmarkData.productDtos("Batch", BATCH_SIZE);
+        ids = productService.getAllProducts(null, 1000, ProductSortField.ID).getItems().stream()
+                .mapToLong(Product::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductDto createProduct() {
+        return productService.createProduct(template);
+    }
+
+    @Benchmark
+    public ProductDto changePrice() {
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return productService.changePrice(ids[next], BenchmarkData.price(next), null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BatchItemResult> createProductsBatch() {
+        return batchService.createProducts(batch);
+    }
+}
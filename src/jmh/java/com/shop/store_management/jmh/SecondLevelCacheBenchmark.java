@@ -0,0 +1,146 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.exception.InsufficientStockException;
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.service.ProductService;
+import com.shop.store_management.service.StockReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-heavy mixes against embedded H2 with the Spring product cache off, so that every call
+ * reaches Hibernate: 90% lookups by id and 5% searches and category summaries, with the remaining
+ * 5% price changes or, in the checkout mix, reservations and releases. Run with Hibernate's
+ * second-level and query caches on and off; the statements prepared per operation (the database
+ * round trips) are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final int CATALOG_SIZE = 20_000;
+
+    private static final String[] SEARCH_CATEGORIES = {"Electronics", "Books", "Garden"};
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    private StockReservationService stockReservationService;
+
+    private Statistics statistics;
+
+    private long[] ids;
+
+    private SplittableRandom random;
+
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = StoreContext.start(CATALOG_SIZE, "none",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        productService = context.getBean(ProductService.class);
+        stockReservationService = context.getBean(StockReservationService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        ids = productService.getAllProducts(null, 1000, ProductSortField.ID).getItems().stream()
+                .mapToLong(Product::getId)
+                .toArray();
+        random = new SplittableRandom(42);
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) {
+        String mix = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+        System.out.printf("%n[statements] %s, second-level cache %s: %.3f statements/op over %d ops, "
+                        + "second-level hit ratio %.3f, query cache hit ratio %.3f%n",
+                mix, secondLevelCache ? "on" : "off", (double) statistics.getPrepareStatementCount() / operations,
+                operations, ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        context.close();
+    }
+
+    @Benchmark
+    public Object readHeavyMix() {
+        operations++;
+        long id = ids[random.nextInt(ids.length)];
+        int roll = random.nextInt(100);
+        if (roll < 95) {
+            return read(id, roll);
+        }
+        return productService.changePrice(id, BigDecimal.valueOf(random.nextInt(100, 100_000), 2), null);
+    }
+
+    /**
+     * Reservations are single-row stock deltas; releasing as often as reserving keeps stock from
+     * running out during the run.
+     */
+    @Benchmark
+    public Object checkoutMix() {
+        operations++;
+        long id = ids[random.nextInt(ids.length)];
+        int roll = random.nextInt(100);
+        if (roll < 95) {
+            return read(id, roll);
+        }
+        if (roll < 97) {
+            stockReservationService.release(id, 1);
+            return id;
+        }
+        try {
+            stockReservationService.reserve(id, 1);
+        } catch (InsufficientStockException ex) {
+            return ex;
+        }
+        return id;
+    }
+
+    private Object read(long id, int roll) {
+        if (roll < 90) {
+            return productService.getProductById(id);
+        }
+        if (roll < 93) {
+            ProductSearchCriteria criteria = ProductSearchCriteria.builder()
+                    .category(SEARCH_CATEGORIES[roll % SEARCH_CATEGORIES.length])
+                    .build();
+            return productService.searchProducts(criteria, 0, null, ProductSortField.PRICE);
+        }
+        return productService.getCategories();
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
@@ -0,0 +1,51 @@
+package com.shop.store_management.jmh;
+
+import com.shop.store_management.StoreManagementApplication;
+import com.shop.store_management.service.ProductBatchService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without the web layer against a private in-memory H2 database, seeded
+ * with {@code catalogSize} products.
+ */
+final class StoreContext {
+
+    private StoreContext() {
+    }
+
+    /**
+     * {@code overrides} are extra {@code key=value} properties. Everything the benchmark depends on
+     * is passed as command-line arguments: properties set on the builder are only defaults, which
+     * application.yml (and the test one, on the benchmark classpath) would silently override.
+     */
+    static ConfigurableApplicationContext start(int catalogSize, String cacheType, String... overrides) {
+        // benchmark threads are not the setup thread, so share one authenticated context between them
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "benchmark", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StoreManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(Stream.concat(Stream.of(
+                                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                                        "spring.cache.type=" + cacheType,
+                                        "logging.level.root=WARN"),
+                                Arrays.stream(overrides))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+
+        ProductBatchService batchService = context.getBean(ProductBatchService.class);
+        for (int from = 0; from < catalogSize; from += 5_000) {
+            batchService.createProducts(BenchmarkData.productDtos("Seed", Math.min(5_000, catalogSize - from)));
+        }
+        return context;
+    }
+}
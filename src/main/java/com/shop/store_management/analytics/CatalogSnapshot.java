@@ -0,0 +1,249 @@
+package com.shop.store_management.analytics;
+
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Columnar snapshot of the catalog behind the analytics endpoints. Kept current from
+ * {@link ProductChangedEvent}s after commit and rebuilt from a streaming scan at startup, like the
+ * full-text index. Events without a product snapshot (in-place patches, stock reservations) only
+ * mark the product; a background task reads the marked rows back in batches, so a burst of
+ * reservations on one product costs one read rather than one per request, and none on the request
+ * thread. All reads go to the primary, a replica may not have the change yet.
+ *
+ * <p>Rows carry the product version, and a row older than the one already stored is dropped, so a
+ * read-back that was in flight while a newer event arrived cannot put the older figures back.
+ * Deleted products keep a marker for the same reason; ids are never reused.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot {
+
+    private final ProductRepository productRepository;
+
+    private final EntityManager entityManager;
+
+    private static final int RESOLVE_BATCH_SIZE = 500;
+
+    private final TransactionTemplate primaryTransaction;
+
+    private final TaskExecutor taskExecutor;
+
+    private final Object swapLock = new Object();
+
+    /**
+     * Held for a whole rebuild, so rebuilds run one after another, like the full-text index's.
+     */
+    private final Object rebuildLock = new Object();
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private static final Row DELETED_ROW = new Row(0, 0, null, DELETED);
+
+    private volatile ColumnarCatalog catalog = new ColumnarCatalog();
+
+    /**
+     * Version of every product in {@link #catalog}, {@link #DELETED} for deleted ones; guarded by {@code swapLock}.
+     */
+    private Map<Long, Long> versions = new HashMap<>();
+
+    /**
+     * Newest row per product seen while a rebuild is scanning, including deletions; replayed onto the
+     * new snapshot.
+     */
+    private Map<Long, Row> changesDuringRebuild;
+
+    private final Set<Long> unresolved = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean resolving = new AtomicBoolean();
+
+    @Autowired
+    public CatalogSnapshot(ProductRepository productRepository, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        // not read-only, so the routing data source sends it to the primary
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    public List<CategoryTotals> totalsByCategory() {
+        return catalog.totalsByCategory();
+    }
+
+    public PriceDistribution priceDistribution(String category, double[] percentiles) {
+        return catalog.priceDistribution(category, percentiles);
+    }
+
+    public List<StockLevel> stockBelow(int threshold, int limit) {
+        return catalog.stockBelow(threshold, limit);
+    }
+
+    public int size() {
+        return catalog.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangeType.DELETED) {
+            store(event.productId(), DELETED_ROW);
+            return;
+        }
+        ProductDto product = event.product();
+        if (product != null) {
+            store(event.productId(), new Row(scaled(product.getPrice()), product.getStockQuantity(),
+                    product.getCategory(), product.getVersion()));
+            return;
+        }
+        unresolved.add(event.productId());
+        if (resolving.compareAndSet(false, true)) {
+            taskExecutor.execute(this::resolvePending);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Streams the catalog once into a fresh snapshot. Queries keep using the old snapshot until the
+     * new one is complete. A rebuild requested while another runs waits for it.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildSnapshot();
+        }
+    }
+
+    private void rebuildSnapshot() {
+        long start = System.nanoTime();
+        synchronized (swapLock) {
+            changesDuringRebuild = new HashMap<>();
+        }
+        ColumnarCatalog fresh = new ColumnarCatalog();
+        Map<Long, Long> freshVersions = new HashMap<>();
+        try {
+            primaryTransaction.executeWithoutResult(status -> {
+                try (Stream<Product> products = productRepository.streamAllOrderById()) {
+                    products.forEach(product -> {
+                        entityManager.detach(product);
+                        fresh.put(product.getId(), scaled(product.getPrice()), product.getStockQuantity(),
+                                product.getCategory());
+                        freshVersions.put(product.getId(), product.getVersion());
+                    });
+                }
+            });
+        } catch (RuntimeException ex) {
+            synchronized (swapLock) {
+                changesDuringRebuild = null;
+            }
+            log.error("Analytics snapshot rebuild failed, keeping the previous snapshot", ex);
+            return;
+        }
+
+        synchronized (swapLock) {
+            changesDuringRebuild.forEach((productId, row) -> apply(fresh, freshVersions, productId, row));
+            changesDuringRebuild = null;
+            catalog = fresh;
+            versions = freshVersions;
+        }
+        log.info("Analytics snapshot rebuilt with {} products in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long scaled(BigDecimal amount) {
+        return amount.movePointRight(ColumnarCatalog.PRICE_SCALE).longValue();
+    }
+
+    /**
+     * Reads back the products marked by events without a snapshot until none are left. A product
+     * marked again while its read runs stays marked and is read once more.
+     */
+    private void resolvePending() {
+        boolean failed = false;
+        try {
+            while (!unresolved.isEmpty()) {
+                List<Long> ids = unresolved.stream().limit(RESOLVE_BATCH_SIZE).toList();
+                unresolved.removeAll(ids);
+                try {
+                    Map<Long, ProductFigures> figures = primaryTransaction.execute(status ->
+                            productRepository.findFiguresByIds(ids).stream()
+                                    .collect(Collectors.toMap(ProductFigures::id, Function.identity())));
+                    ids.forEach(productId -> store(productId, row(figures.get(productId))));
+                } catch (RuntimeException ex) {
+                    // keep them marked, the next change retries them
+                    unresolved.addAll(ids);
+                    failed = true;
+                    log.warn("Reading back {} products for the analytics snapshot failed: {}", ids.size(), ex.getMessage());
+                    return;
+                }
+            }
+        } finally {
+            resolving.set(false);
+            // an event that found the task still running did not start another one
+            if (!failed && !unresolved.isEmpty() && resolving.compareAndSet(false, true)) {
+                taskExecutor.execute(this::resolvePending);
+            }
+        }
+    }
+
+    private void store(Long productId, Row row) {
+        synchronized (swapLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.merge(productId, row, Row::newer);
+            }
+            apply(catalog, versions, productId, row);
+        }
+    }
+
+    private static Row row(ProductFigures figures) {
+        return figures == null ? DELETED_ROW : new Row(scaled(figures.price()), figures.stockQuantity(),
+                figures.category(), figures.version());
+    }
+
+    private static void apply(ColumnarCatalog target, Map<Long, Long> targetVersions, Long productId, Row row) {
+        Long stored = targetVersions.get(productId);
+        if (stored != null && stored > row.version()) {
+            return;
+        }
+        targetVersions.put(productId, row.version());
+        if (row == DELETED_ROW) {
+            target.remove(productId);
+        } else {
+            target.put(productId, row.price(), row.stockQuantity(), row.category());
+        }
+    }
+
+    private record Row(long price, int stockQuantity, String category, long version) {
+
+        Row newer(Row other) {
+            return other.version >= version ? other : this;
+        }
+    }
+}
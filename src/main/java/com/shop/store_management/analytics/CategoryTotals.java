@@ -0,0 +1,8 @@
+package com.shop.store_management.analytics;
+
+/**
+ * Aggregates for one category. Money values are scaled by {@link ColumnarCatalog#PRICE_SCALE}.
+ */
+public record CategoryTotals(String category, int products, long stockUnits, long priceSum,
+                             long minPrice, long maxPrice, long inventoryValue) {
+}
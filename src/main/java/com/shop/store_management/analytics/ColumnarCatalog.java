@@ -0,0 +1,329 @@
+package com.shop.store_management.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Column-per-field copy of the catalog for aggregations.
+ *
+ * <p>Prices are kept as longs in units of 10^-{@value #PRICE_SCALE} (cents for the {@code DECIMAL(10,2)}
+ * column), stock as ints and categories as codes into a dictionary, each in its own primitive
+ * array. Rows are dense: removing a product moves the last row into its slot, so every scan is a
+ * plain loop over {@code [0, rows)}. Scans over large snapshots are split into ranges and run on the
+ * common pool, each range folding into its own accumulator.
+ */
+public final class ColumnarCatalog {
+
+    public static final int PRICE_SCALE = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int NO_CATEGORY = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> rowByProductId = new HashMap<>();
+
+    private final Map<String, Integer> codeByCategory = new HashMap<>();
+
+    private final List<String> categories = new ArrayList<>();
+
+    private long[] productIds = new long[INITIAL_CAPACITY];
+
+    private long[] prices = new long[INITIAL_CAPACITY];
+
+    private int[] stock = new int[INITIAL_CAPACITY];
+
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+
+    private int rows;
+
+    /**
+     * Adds the product or overwrites its row.
+     */
+    public void put(long productId, long price, int stockQuantity, String category) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByProductId.get(productId);
+            if (row == null) {
+                ensureCapacity(rows + 1);
+                row = rows++;
+                rowByProductId.put(productId, row);
+                productIds[row] = productId;
+            }
+            prices[row] = price;
+            stock[row] = stockQuantity;
+            categoryCodes[row] = codeByCategory.computeIfAbsent(category, name -> {
+                categories.add(name);
+                return categories.size() - 1;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByProductId.remove(productId);
+            if (row == null) {
+                return;
+            }
+            int last = --rows;
+            if (row != last) {
+                productIds[row] = productIds[last];
+                prices[row] = prices[last];
+                stock[row] = stock[last];
+                categoryCodes[row] = categoryCodes[last];
+                rowByProductId.put(productIds[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One pass over all rows, grouped by category. Categories without products are left out.
+     */
+    public List<CategoryTotals> totalsByCategory() {
+        lock.readLock().lock();
+        try {
+            int width = categories.size();
+            Accumulator totals = scan(() -> new Accumulator(width));
+            List<CategoryTotals> result = new ArrayList<>();
+            for (int code = 0; code < width; code++) {
+                if (totals.products[code] > 0) {
+                    result.add(new CategoryTotals(categories.get(code), totals.products[code], totals.stockUnits[code],
+                            totals.priceSum[code], totals.minPrice[code], totals.maxPrice[code],
+                            totals.inventoryValue[code]));
+                }
+            }
+            result.sort(Comparator.comparing(CategoryTotals::category));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nearest-rank percentiles of the price column, optionally restricted to one category. The
+     * prices are copied once and each percentile is found by selection, so no full sort is needed.
+     */
+    public PriceDistribution priceDistribution(String category, double[] percentiles) {
+        lock.readLock().lock();
+        try {
+            long[] values;
+            if (category == null) {
+                values = Arrays.copyOf(prices, rows);
+            } else {
+                int code = codeByCategory.getOrDefault(category, NO_CATEGORY);
+                values = new long[rows];
+                int n = 0;
+                for (int i = 0; i < rows; i++) {
+                    if (categoryCodes[i] == code) {
+                        values[n++] = prices[i];
+                    }
+                }
+                values = Arrays.copyOf(values, n);
+            }
+            return distribution(values, percentiles);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Products with stock strictly below {@code threshold}, lowest stock first, at most {@code limit}.
+     */
+    public List<StockLevel> stockBelow(int threshold, int limit) {
+        lock.readLock().lock();
+        try {
+            Comparator<StockLevel> lowestFirst = Comparator.comparingInt(StockLevel::stockQuantity)
+                    .thenComparingLong(StockLevel::productId);
+            PriorityQueue<StockLevel> top = new PriorityQueue<>(limit + 1, lowestFirst.reversed());
+            for (int i = 0; i < rows; i++) {
+                if (stock[i] >= threshold) {
+                    continue;
+                }
+                StockLevel level = new StockLevel(productIds[i], stock[i], categories.get(categoryCodes[i]));
+                if (top.size() < limit) {
+                    top.add(level);
+                } else if (lowestFirst.compare(level, top.peek()) < 0) {
+                    top.poll();
+                    top.add(level);
+                }
+            }
+            List<StockLevel> result = new ArrayList<>(top);
+            result.sort(lowestFirst);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Accumulator scan(Supplier<Accumulator> factory) {
+        if (rows < PARALLEL_THRESHOLD) {
+            Accumulator accumulator = factory.get();
+            accumulator.add(0, rows);
+            return accumulator;
+        }
+        int ranges = Math.max(1, Math.min(rows / PARALLEL_THRESHOLD, 4 * Runtime.getRuntime().availableProcessors()));
+        int step = (rows + ranges - 1) / ranges;
+        return IntStream.range(0, ranges).parallel()
+                .mapToObj(range -> {
+                    Accumulator accumulator = factory.get();
+                    accumulator.add(range * step, Math.min(rows, (range + 1) * step));
+                    return accumulator;
+                })
+                .reduce(Accumulator::merge)
+                .orElseGet(factory);
+    }
+
+    private static PriceDistribution distribution(long[] values, double[] percentiles) {
+        int n = values.length;
+        long[] result = new long[percentiles.length];
+        if (n == 0) {
+            return new PriceDistribution(0, 0, 0, 0, result);
+        }
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        Integer[] order = IntStream.range(0, percentiles.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingDouble(index -> percentiles[index]));
+        int from = 0;
+        for (int index : order) {
+            int rank = Math.max(0, (int) Math.ceil(percentiles[index] / 100 * n) - 1);
+            select(values, from, n - 1, rank);
+            result[index] = values[rank];
+            from = rank;
+        }
+        return new PriceDistribution(n, sum, min, max, result);
+    }
+
+    /**
+     * Quickselect: afterwards {@code values[k]} holds the k-th smallest element of
+     * {@code values[left..right]}, smaller ones before it and larger ones after it.
+     */
+    private static void select(long[] values, int left, int right, int k) {
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            long pivot = medianOfThree(values[left], values[middle], values[right]);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long tmp = values[i];
+                    values[i++] = values[j];
+                    values[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        stock = Arrays.copyOf(stock, newCapacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, newCapacity);
+    }
+
+    /**
+     * Per-category running totals, indexed by category code.
+     */
+    private final class Accumulator {
+
+        private final int[] products;
+
+        private final long[] stockUnits;
+
+        private final long[] priceSum;
+
+        private final long[] minPrice;
+
+        private final long[] maxPrice;
+
+        private final long[] inventoryValue;
+
+        Accumulator(int width) {
+            products = new int[width];
+            stockUnits = new long[width];
+            priceSum = new long[width];
+            minPrice = new long[width];
+            maxPrice = new long[width];
+            inventoryValue = new long[width];
+            Arrays.fill(minPrice, Long.MAX_VALUE);
+            Arrays.fill(maxPrice, Long.MIN_VALUE);
+        }
+
+        void add(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int code = categoryCodes[i];
+                long price = prices[i];
+                products[code]++;
+                stockUnits[code] += stock[i];
+                priceSum[code] += price;
+                inventoryValue[code] += price * stock[i];
+                minPrice[code] = Math.min(minPrice[code], price);
+                maxPrice[code] = Math.max(maxPrice[code], price);
+            }
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int code = 0; code < products.length; code++) {
+                products[code] += other.products[code];
+                stockUnits[code] += other.stockUnits[code];
+                priceSum[code] += other.priceSum[code];
+                inventoryValue[code] += other.inventoryValue[code];
+                minPrice[code] = Math.min(minPrice[code], other.minPrice[code]);
+                maxPrice[code] = Math.max(maxPrice[code], other.maxPrice[code]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.shop.store_management.analytics;
+
+/**
+ * Price statistics of a set of products; {@code percentiles} is parallel to the requested
+ * percentiles. Money values are scaled by {@link ColumnarCatalog#PRICE_SCALE}.
+ */
+public record PriceDistribution(int products, long priceSum, long minPrice, long maxPrice, long[] percentiles) {
+}
@@ -0,0 +1,9 @@
+package com.shop.store_management.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a product the analytics snapshot keeps.
+ */
+public record ProductFigures(Long id, BigDecimal price, Integer stockQuantity, String category, Long version) {
+}
@@ -0,0 +1,4 @@
+package com.shop.store_management.analytics;
+
+public record StockLevel(long productId, int stockQuantity, String category) {
+}
@@ -0,0 +1,23 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "store.analytics")
+public class AnalyticsProperties {
+
+    /**
+     * Stock level below which a product is reported as low when the request names no threshold.
+     */
+    private int lowStockThreshold = 10;
+
+    private int defaultResults = 100;
+
+    private int maxResults = 10000;
+
+    private List<Double> defaultPercentiles = List.of(50.0, 90.0, 99.0);
+
+}
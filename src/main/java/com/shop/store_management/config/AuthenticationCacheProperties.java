@@ -0,0 +1,22 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.security.auth-cache")
+public class AuthenticationCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a verified credential skips BCrypt. Every hit is checked against the current user, so
+     * a password change, a removed or a locked user takes effect on the next request regardless.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private long maxSize = 10_000;
+
+}
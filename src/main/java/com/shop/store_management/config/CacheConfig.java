@@ -0,0 +1,26 @@
+package com.shop.store_management.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The caching advice is ordered outside the transactional advice, so a cache hit never opens a
+ * transaction and {@code @CachePut}/{@code @CacheEvict} only run once the write has committed.
+ *
+ * <p>Below these caches, Hibernate's second-level cache keeps {@code Product} entities and query
+ * results in the JCache regions named here, configured in {@code hibernate-jcache.conf}.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+
+    public static final String PRODUCT_CATEGORIES = "productCategories";
+
+    public static final String PRODUCT_REGION = "product";
+
+    public static final String PRODUCT_QUERIES_REGION = "product-queries";
+
+}
@@ -0,0 +1,115 @@
+package com.shop.store_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of the Hikari pool. With
+ * {@code spring.threads.virtual.enabled} every request runs on its own virtual thread, so the number
+ * of callers wanting a connection is no longer capped by the Tomcat thread pool; the gate keeps
+ * them queued fairly outside the pool.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConcurrencyConfig {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Runs first, so the gate sits right on the pool and replica routing, if enabled, wraps the gate.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<DataSourceConcurrencyProperties> propertiesProvider) {
+        return new OrderedPostProcessor(Ordered.HIGHEST_PRECEDENCE) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                DataSourceConcurrencyProperties properties = propertiesProvider.getObject();
+                if (!properties.isLimitConcurrency()) {
+                    return bean;
+                }
+                int permits = properties.getMaxConcurrentConnections() > 0
+                        ? properties.getMaxConcurrentConnections()
+                        : poolSize(hikari);
+                log.debug("Limiting data source '{}' to {} concurrent connections", beanName, permits);
+                return new ConnectionLimitingDataSource(hikari, permits, properties.getAcquireTimeout());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (primaryOf(dataSource) instanceof ConnectionLimitingDataSource limiter) {
+                Gauge.builder("store.datasource.permits.available", limiter, ConnectionLimitingDataSource::availablePermits)
+                        .description("Free permits of the connection gate in front of the pool")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static DataSource primaryOf(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (true) {
+            if (current instanceof ConnectionLimitingDataSource) {
+                return current;
+            } else if (current instanceof ReplicaRoutingDataSource routing) {
+                current = routing.getPrimary();
+            } else if (current instanceof DelegatingDataSource delegating) {
+                current = delegating.getTargetDataSource();
+            } else {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Hikari only fills in its default size of 10 when the pool starts, which is after this runs.
+     */
+    private static int poolSize(HikariDataSource hikari) {
+        return hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Handling requests on virtual threads");
+        } else if (requested) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads, using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    abstract static class OrderedPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final int order;
+
+        OrderedPostProcessor(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
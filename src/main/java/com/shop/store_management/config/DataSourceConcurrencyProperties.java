@@ -0,0 +1,24 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.datasource")
+public class DataSourceConcurrencyProperties {
+
+    /**
+     * Gate connection checkout with a fair semaphore in front of the pool.
+     */
+    private boolean limitConcurrency = true;
+
+    /**
+     * Permits of the gate; 0 means the pool's maximum size.
+     */
+    private int maxConcurrentConnections = 0;
+
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,19 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "store.search.fulltext")
+public class FullTextSearchProperties {
+
+    /**
+     * Fold plurals with the Harman "S" stemmer at index and query time.
+     */
+    private boolean stemming = true;
+
+    private int defaultResults = 20;
+
+    private int maxResults = 100;
+
+}
@@ -0,0 +1,44 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.products.import")
+public class ImportProperties {
+
+    /**
+     * Server-side files can only be imported from inside this directory.
+     */
+    private Path directory = Path.of("imports");
+
+    /**
+     * Lines per parse task, and rows per write transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Threads parsing and validating chunks; 0 means one per available processor.
+     */
+    private int parserThreads = 0;
+
+    /**
+     * Parsed or parsing chunks a job may hold before the reader waits for the writer; with
+     * {@code chunk-size} this bounds the memory of an import regardless of file size.
+     */
+    private int maxChunksInFlight = 8;
+
+    /**
+     * Row errors kept per job; further errors are only counted.
+     */
+    private int maxReportedErrors = 1000;
+
+    /**
+     * How long the status of a finished job stays available.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+}
@@ -0,0 +1,19 @@
+package com.shop.store_management.config;
+
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meter names shared across the application. Tags on these meters are bounded sets (class, method,
+ * exception type); never tag with product ids or other request data.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * {@code @Timed} on the service classes: one timer per method, tagged {@code class} and {@code method}.
+     */
+    public static final String SERVICE_TIMER = "store.service";
+
+    public static final String HANDLED_EXCEPTIONS = "store.exceptions.handled";
+
+}
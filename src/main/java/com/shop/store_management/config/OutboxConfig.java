@@ -0,0 +1,24 @@
+package com.shop.store_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.outbox.NdjsonFileChangeSink;
+import com.shop.store_management.outbox.ProductChangeSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Any {@link ProductChangeSink} bean (a message broker client, a webhook caller) replaces the
+ * default file sink without touching the relay.
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ProductChangeSink.class)
+    public ProductChangeSink productChangeSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new NdjsonFileChangeSink(properties.getRelay().getFile(), objectMapper);
+    }
+}
@@ -0,0 +1,55 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.outbox")
+public class OutboxProperties {
+
+    private int defaultLimit = 1000;
+
+    private int maxLimit = 10_000;
+
+    /**
+     * Published changes older than this are deleted; consumers further behind must re-sync from the export.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    private Sequencer sequencer = new Sequencer();
+
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Sequencer {
+
+        private boolean enabled = true;
+
+        /**
+         * A committed change shows up in the feed and reaches the relay up to this much later.
+         */
+        private Duration interval = Duration.ofMillis(200);
+
+        private int batchSize = 1000;
+
+    }
+
+    @Data
+    public static class Relay {
+
+        private boolean enabled = true;
+
+        private Duration interval = Duration.ofSeconds(1);
+
+        private int batchSize = 500;
+
+        /**
+         * Target of the default NDJSON file sink.
+         */
+        private Path file = Path.of("outbox", "product-changes.ndjson");
+
+    }
+}
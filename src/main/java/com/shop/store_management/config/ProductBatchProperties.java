@@ -0,0 +1,17 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "store.products.batch")
+public class ProductBatchProperties {
+
+    /**
+     * Items written per transaction; keep it a multiple of hibernate.jdbc.batch_size.
+     */
+    private int chunkSize = 500;
+
+    private int maxItems = 50000;
+
+}
@@ -0,0 +1,14 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "store.products.page")
+public class ProductPagingProperties {
+
+    private int defaultSize = 50;
+
+    private int maxSize = 500;
+
+}
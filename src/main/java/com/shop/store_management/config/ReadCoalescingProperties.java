@@ -0,0 +1,29 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.products.read-coalescing")
+public class ReadCoalescingProperties {
+
+    /**
+     * Let concurrent identical product reads share one lookup instead of each running its own.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a lookup by id waits for others to join it in one {@code WHERE id IN (...)} query.
+     * Every lookup by id is delayed by up to this much, so it is off ({@code 0}) unless cache misses
+     * for many distinct products arrive together.
+     */
+    private Duration batchWindow = Duration.ZERO;
+
+    /**
+     * Ids that make a batch run before its window is up.
+     */
+    private int maxBatchSize = 100;
+
+}
@@ -0,0 +1,152 @@
+package com.shop.store_management.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the application data source into primary-plus-replicas routing when
+ * {@code store.datasource.replicas.enabled} is set. Flyway, the outbox relay and every read-write
+ * transaction keep using the primary.
+ *
+ * <p>Read-only transactions may see a lagging replica, so they read the second-level cache but never
+ * fill it; entities and query results get there from the primary only.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "store.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(
+            ObjectProvider<ReadReplicaProperties> propertiesProvider) {
+        return new DataSourceConcurrencyConfig.OrderedPostProcessor(Ordered.LOWEST_PRECEDENCE) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource primary) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                ReadReplicaProperties properties = propertiesProvider.getObject();
+                List<HikariDataSource> replicas = new ArrayList<>();
+                for (int i = 0; i < properties.getNodes().size(); i++) {
+                    replicas.add(replicaPool(properties.getNodes().get(i), i + 1, properties.getPoolSize()));
+                }
+                log.info("Routing read-only transactions across {} replicas ({})", replicas.size(),
+                        properties.getSelection());
+                ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                        properties.getSelection(), properties.getHealthCheckInterval());
+                return new ClosingLazyConnectionDataSourceProxy(routing);
+            }
+        };
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new ReadOnlyCacheGetTransactionManager();
+        customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public MeterBinder replicaHealthMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ClosingLazyConnectionDataSourceProxy proxy) {
+                Gauge.builder("store.datasource.replicas.healthy", proxy.routing, ReplicaRoutingDataSource::healthyReplicas)
+                        .description("Replicas currently receiving read-only transactions")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * A replica that is down at startup must not stop the application, so the pool starts empty
+     * instead of failing fast.
+     */
+    private static HikariDataSource replicaPool(ReadReplicaProperties.Node node, int index, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica-" + index);
+        config.setJdbcUrl(node.getUrl());
+        config.setUsername(node.getUsername());
+        config.setPassword(node.getPassword());
+        config.setMaximumPoolSize(poolSize);
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Puts the session of a read-only transaction in {@link CacheMode#GET} and back to
+     * {@link CacheMode#NORMAL} afterwards, since with open-in-view it outlives the transaction.
+     */
+    static final class ReadOnlyCacheGetTransactionManager extends JpaTransactionManager {
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            super.doBegin(transaction, definition);
+            if (definition.isReadOnly()) {
+                Session session = currentSession();
+                if (session != null) {
+                    session.setCacheMode(CacheMode.GET);
+                }
+            }
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            Session session = currentSession();
+            if (session != null && session.isOpen() && session.getCacheMode() == CacheMode.GET) {
+                session.setCacheMode(CacheMode.NORMAL);
+            }
+            super.doCleanupAfterCompletion(transaction);
+        }
+
+        private Session currentSession() {
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+            return holder == null ? null : holder.getEntityManager().unwrap(Session.class);
+        }
+    }
+
+    /**
+     * Exposes {@code close()} so the container's inferred destroy method shuts the pools down.
+     */
+    static final class ClosingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        ClosingLazyConnectionDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() {
+            routing.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "store.datasource.replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * Send read-only transactions to the replicas below; writes always go to spring.datasource.
+     */
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    /**
+     * Maximum connections per replica pool.
+     */
+    private int poolSize = 10;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * After a client's own write its reads stay on the primary for this long, so it sees the change
+     * even if the replicas lag behind. The deadline travels in a cookie set on the writing response;
+     * clients that do not send cookies back read from the replicas straight away.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    @Data
+    public static class Node {
+
+        private String url;
+
+        private String username = "sa";
+
+        private String password = "";
+
+    }
+}
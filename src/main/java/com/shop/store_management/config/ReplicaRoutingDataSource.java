@@ -0,0 +1,254 @@
+package com.shop.store_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica and everything else to the
+ * primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for its connection before the read-only flag is bound to the thread.
+ *
+ * <p>A client that just wrote keeps reading from the primary while its {@link Client}, bound to the
+ * request by the web layer, says so; work outside a request has no client and reads from a replica.
+ * Replicas that fail a connection or a periodic validity check are skipped until a later check
+ * passes; with no healthy replica, reads fall back to the primary.
+ *
+ * <p>Reads whose results go into a shared cache run in {@link #readFromPrimary}: a lagging replica
+ * would otherwise leave stale rows there for every client, for far longer than any replica lag.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    /**
+     * Request attribute holding the {@link Client} the request is served for.
+     */
+    public static final String CLIENT_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".client";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReadReplicaProperties.Selection selection;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    ReadReplicaProperties.Selection selection, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Client client = currentClient();
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                client.wrote();
+            }
+            return primary.getConnection();
+        }
+        if (readsFromPrimary()) {
+            return primary.getConnection();
+        }
+        Replica replica = choose();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException ex) {
+            markHealthy(replica, false, ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Lets pool metrics and health indicators find the primary pool behind the router.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Runs {@code read} with connections taken inside it coming from the primary, even in a read-only
+     * transaction. A connection the transaction already holds is kept, so this must wrap its first
+     * statement.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        Boolean outer = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether reads on this thread go to the primary: inside {@link #readFromPrimary}, or for a client
+     * that wrote recently. Work that is shared between threads or requests must not mix the two.
+     */
+    public static boolean readsFromPrimary() {
+        if (PRIMARY_READS.get() != null) {
+            return true;
+        }
+        Client client = currentClient();
+        return client != null && client.wroteRecently();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Closes the replica pools and then the primary.
+     */
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+        closeQuietly(primary);
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                markHealthy(replica, connection.isValid(VALIDATION_TIMEOUT_SECONDS), "validation failed");
+            } catch (SQLException ex) {
+                markHealthy(replica, false, ex.getMessage());
+            }
+        }
+    }
+
+    private Replica choose() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (selection == ReadReplicaProperties.Selection.LEAST_LOADED) {
+            return healthy.stream().min(Comparator.comparingInt(Replica::load)).orElseThrow();
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    private void markHealthy(Replica replica, boolean healthy, String reason) {
+        if (replica.healthy == healthy) {
+            return;
+        }
+        replica.healthy = healthy;
+        if (healthy) {
+            log.info("Replica {} is back, routing reads to it again", replica.name);
+        } else {
+            log.warn("Replica {} is unhealthy, routing around it: {}", replica.name, reason);
+        }
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Closing data source {} failed: {}", dataSource, ex.getMessage());
+            }
+        }
+    }
+
+    private static Client currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (Client) attributes.getAttribute(CLIENT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Read-your-writes state of the client behind the current request.
+     */
+    public interface Client {
+
+        /**
+         * A read-write transaction started for this client.
+         */
+        void wrote();
+
+        /**
+         * Whether this client's reads must still go to the primary.
+         */
+        boolean wroteRecently();
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+
+        private final String name;
+
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.name = dataSource instanceof HikariDataSource hikari ? hikari.getPoolName() : dataSource.toString();
+        }
+
+        /**
+         * Connections in use plus callers waiting for one; only Hikari pools report it.
+         */
+        private int load() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool != null) {
+                    return pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+                }
+            }
+            return 0;
+        }
+    }
+}
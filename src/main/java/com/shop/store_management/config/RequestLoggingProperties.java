@@ -0,0 +1,29 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.logging.requests")
+public class RequestLoggingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Share of successful, fast requests that get an access log line, between 0 and 1.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Requests slower than this are always logged.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Log every response with a 4xx or 5xx status, whatever the sample rate.
+     */
+    private boolean alwaysLogErrors = true;
+
+}
@@ -0,0 +1,40 @@
+package com.shop.store_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "store.products.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * Buffer unconditional change-price/change-stock calls and answer them with 202 instead of writing
+     * each one through.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Longest time an accepted change waits in memory, i.e. what a crash can lose.
+     */
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    /**
+     * Number of buffered products that triggers a flush before the interval is up.
+     */
+    private int maxPending = 5000;
+
+    /**
+     * Most products the buffer holds; changes to further products are rejected with 503 until a
+     * flush makes room.
+     */
+    private int capacity = 50000;
+
+    /**
+     * How long flushes may keep failing before new changes are rejected with 503 instead of being
+     * accepted into a buffer that is not being written.
+     */
+    private Duration maxFailureDuration = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,43 @@
+package com.shop.store_management.controller;
+
+import com.shop.store_management.model.dtos.InventorySummaryDto;
+import com.shop.store_management.model.dtos.LowStockItemDto;
+import com.shop.store_management.model.dtos.PriceDistributionDto;
+import com.shop.store_management.service.ProductAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/analytics")
+public class ProductAnalyticsController {
+
+    private final ProductAnalyticsService analyticsService;
+
+    @Autowired
+    public ProductAnalyticsController(ProductAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<InventorySummaryDto> getInventorySummary() {
+        return ResponseEntity.ok(analyticsService.getInventorySummary());
+    }
+
+    @GetMapping("/prices")
+    public ResponseEntity<PriceDistributionDto> getPriceDistribution(@RequestParam(required = false) String category,
+                                                                     @RequestParam(required = false) List<Double> percentiles) {
+        return ResponseEntity.ok(analyticsService.getPriceDistribution(category, percentiles));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<LowStockItemDto>> getLowStock(@RequestParam(required = false) Integer threshold,
+                                                             @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(analyticsService.getLowStock(threshold, limit));
+    }
+}
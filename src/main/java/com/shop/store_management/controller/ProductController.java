@@ -2,12 +2,33 @@ package com.shop.store_management.controller;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.BatchItemResult;
+import com.shop.store_management.model.dtos.CategorySummaryDto;
+import com.shop.store_management.model.dtos.FullTextSearchHit;
 import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPage;
+import com.shop.store_management.model.dtos.ProductPatch;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import com.shop.store_management.model.dtos.ProductSearchResult;
+import com.shop.store_management.model.dtos.StockReservationItem;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import com.shop.store_management.service.ProductBatchService;
+import com.shop.store_management.service.ProductChangeFeedService;
+import com.shop.store_management.service.ProductCommandService;
+import com.shop.store_management.service.ProductExportService;
+import com.shop.store_management.service.ProductReadCoalescer;
 import com.shop.store_management.service.ProductService;
+import com.shop.store_management.service.ProductWriteBuffer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,85 +38,279 @@ import java.util.List;
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final String PREFER = "Prefer";
+
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    private static final String RETURN_MINIMAL = "return=minimal";
 
     private final ProductService productService;
 
+    private final ProductExportService productExportService;
+
+    private final ProductBatchService productBatchService;
+
+    private final ProductCommandService productCommands;
+
+    private final ProductChangeFeedService changeFeedService;
+
+    private final ProductWriteBuffer writeBuffer;
+
+    private final ProductReadCoalescer readCoalescer;
+
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductBatchService productBatchService, ProductCommandService productCommands,
+                             ProductChangeFeedService changeFeedService, ProductWriteBuffer writeBuffer,
+                             ProductReadCoalescer readCoalescer) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productBatchService = productBatchService;
+        this.productCommands = productCommands;
+        this.changeFeedService = changeFeedService;
+        this.writeBuffer = writeBuffer;
+        this.readCoalescer = readCoalescer;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        log.info("It was requested full product list");
-        List<ProductDto> products = productService.getAllProducts();
-        log.debug("Response contains {} products", products.size());
-        return ResponseEntity.ok(products);
+    public ResponseEntity<ProductPage> getAllProducts(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @RequestParam(required = false) String sort,
+                                                      WebRequest request) {
+        ProductPage page = readCoalescer.getAllProducts(cursor, size, ProductSortField.fromParam(sort));
+        log.debug("Response contains {} products", page.getItems().size());
+        String etag = ProductEtags.of(page);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(page);
+        }
+        page.setNext(ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor())
+                .replaceQueryParam("sort", page.getSort())
+                .toUriString());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .header(HttpHeaders.LINK, "<" + page.getNext() + ">; rel=\"next\"")
+                .body(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = out -> {
+            long rows = productExportService.exportTo(out);
+            log.debug("Catalog export finished with {} products", rows);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Changes recorded after {@code since}, oldest first, one JSON object per line. Clients resume
+     * from the {@code seq} of the last line they processed.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamChanges(@RequestParam(defaultValue = "0") long since,
+                                                               @RequestParam(required = false) Integer limit) {
+        int maxRows = changeFeedService.resolveLimit(since, limit);
+        StreamingResponseBody body = out -> {
+            long rows = changeFeedService.streamChanges(since, maxRows, out);
+            log.debug("Change feed after seq {} returned {} changes", since, rows);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResult> searchProducts(@RequestParam(required = false) String category,
+                                                              @RequestParam(required = false) BigDecimal minPrice,
+                                                              @RequestParam(required = false) BigDecimal maxPrice,
+                                                              @RequestParam(defaultValue = "false") boolean inStock,
+                                                              @RequestParam(required = false) String namePrefix,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(required = false) String sort) {
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder()
+                .category(category)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStockOnly(inStock)
+                .namePrefix(namePrefix)
+                .build();
+        ProductSearchResult result = readCoalescer.searchProducts(criteria, page, size,
+                ProductSortField.fromParam(sort));
+        log.debug("Search returned {} of {} products", result.getItems().size(), result.getTotalElements());
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<FullTextSearchHit>> searchFullText(@RequestParam String q,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.searchFullText(q, limit));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySummaryDto>> getCategories() {
+        return ResponseEntity.ok(productService.getCategories());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
-        log.info("It was requested product details for ID {}", id);
-        ProductDto productDto = productService.getProductById(id);
-        log.debug("Product details returned for ID {}: {}", id, productDto);
-        return ResponseEntity.ok(productDto);
+    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id, WebRequest request) {
+        ProductDto productDto = readCoalescer.getProductById(id);
+        if (writeBuffer.hasPending(id)) {
+            // buffered values have no version yet, so there is nothing to validate against
+            log.debug("Product ID {} returned with buffered changes", id);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(writeBuffer.overlay(productDto));
+        }
+        String etag = ProductEtags.of(productDto);
+        if (request.checkNotModified(etag)) {
+            log.debug("Product ID {} not modified since {}", id, etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        log.debug("Product details returned for ID {} at version {}", id, productDto.getVersion());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(productDto);
 
     }
 
     @PostMapping
     public ResponseEntity<ProductDto> createProduct(@RequestBody ProductDto productDto) {
-        log.info("It was submitted new product: {}", productDto.getName());
-        ProductDto createdProd = productService.createProduct(productDto);
+        ProductDto createdProd = productCommands.createProduct(productDto);
         log.debug("New product saved with ID: {}", createdProd.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProd);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ProductEtags.of(createdProd)).body(createdProd);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @RequestBody ProductDto product) {
-        log.info("It was requested update for product ID {}", id);
+    public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @RequestBody ProductDto product,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch) {
         try {
-            ProductDto updatedProd = productService.updateProduct(id, product);
-            log.debug("Product update result for ID {}: {}", id, updatedProd);
-            return ResponseEntity.ok(updatedProd);
+            ProductDto updatedProd = productCommands.updateProduct(id, product, ProductEtags.expectedVersion(id, ifMatch));
+            log.debug("Product ID {} updated to version {}", id, updatedProd.getVersion());
+            return ResponseEntity.ok().eTag(ProductEtags.of(updatedProd)).body(updatedProd);
         } catch (EntityNotFoundException ex) {
             log.warn("Product update failed - no product found with ID {}", id);
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * JSON Merge Patch of any subset of fields. With {@code Prefer: return=minimal} a price and/or
+     * stock patch is written with a single UPDATE and answered with 204; the ETag is only sent when
+     * {@code If-Match} made the new version known.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductDto> patchProduct(@PathVariable Long id, @RequestBody ProductPatch patch,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch,
+                                                   @RequestHeader(value = PREFER, required = false) String prefer) {
+        Long expectedVersion = ProductEtags.expectedVersion(id, ifMatch);
+        boolean minimal = prefer != null && prefer.contains(RETURN_MINIMAL);
+        if (minimal && !patch.isEmpty() && !patch.touchesText()) {
+            Long version = productCommands.patchProductInPlace(id, patch, expectedVersion);
+            log.debug("Product ID {} patched in place", id);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.NO_CONTENT)
+                    .header(PREFERENCE_APPLIED, RETURN_MINIMAL);
+            if (version != null) {
+                response.eTag(ProductEtags.of(ProductDto.builder().id(id).version(version).build()));
+            }
+            return response.build();
+        }
+        ProductDto patched = productCommands.patchProduct(id, patch, expectedVersion);
+        log.debug("Product ID {} patched to version {}", id, patched.getVersion());
+        if (minimal) {
+            return ResponseEntity.noContent().header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                    .eTag(ProductEtags.of(patched)).build();
+        }
+        return ResponseEntity.ok().eTag(ProductEtags.of(patched)).body(patched);
+    }
+
     @PutMapping("/{id}/change-price")
     public ResponseEntity<ProductDto> changePrice(@PathVariable Long id,
-                                               @RequestParam BigDecimal newPrice) {
-        log.info("Updating price for product ID {} to {} ", id, newPrice);
-        ProductDto updatedProd = productService.changePrice(id, newPrice);
+                                               @RequestParam BigDecimal newPrice,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) {
+        if (ifMatch == null && productCommands.isBuffering()) {
+            productCommands.bufferPrice(id, newPrice);
+            return ResponseEntity.accepted().build();
+        }
+        ProductDto updatedProd = productCommands.changePrice(id, newPrice, ProductEtags.expectedVersion(id, ifMatch));
         log.debug("Price updated in database for product ID {}: {}", id, updatedProd.getPrice());
-        return ResponseEntity.ok(updatedProd);
+        return ResponseEntity.ok().eTag(ProductEtags.of(updatedProd)).body(updatedProd);
     }
 
     @PutMapping("/{id}/change-stock")
     public ResponseEntity<ProductDto> changeStock(@PathVariable Long id,
-                                                  @RequestParam Integer newStockQuantity) {
-        log.info("It was requested stock update for product ID {} to {}", id, newStockQuantity);
-        ProductDto updatedProd = productService.changeStockQuantity(id, newStockQuantity);
-        log.debug("Stock update result for product ID {}: {}", id, updatedProd);
-        return  ResponseEntity.ok(updatedProd);
+                                                  @RequestParam Integer newStockQuantity,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+        if (ifMatch == null && productCommands.isBuffering()) {
+            productCommands.bufferStockQuantity(id, newStockQuantity);
+            return ResponseEntity.accepted().build();
+        }
+        ProductDto updatedProd = productCommands.changeStockQuantity(id, newStockQuantity,
+                ProductEtags.expectedVersion(id, ifMatch));
+        log.debug("Stock for product ID {} is now {}", id, updatedProd.getStockQuantity());
+        return  ResponseEntity.ok().eTag(ProductEtags.of(updatedProd)).body(updatedProd);
+    }
+
+    @PostMapping("/{id}/reserve")
+    public ResponseEntity<Void> reserveStock(@PathVariable Long id, @RequestParam int quantity) {
+        productCommands.reserve(id, quantity);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<Void> releaseStock(@PathVariable Long id, @RequestParam int quantity) {
+        productCommands.release(id, quantity);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<Void> reserveCart(@RequestBody List<StockReservationItem> items) {
+        productCommands.reserveAll(items);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/reservations/release")
+    public ResponseEntity<Void> releaseCart(@RequestBody List<StockReservationItem> items) {
+        productCommands.releaseAll(items);
+        return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}/change-category")
     public ResponseEntity<ProductDto> changeCategory(@PathVariable Long id,
-                                                  @RequestParam String newCategory) {
-        log.info("Client requested category change for product ID {} to '{}'", id, newCategory);
-        ProductDto updatedProd = productService.changeCategory(id, newCategory);
-        log.debug("Category update result for product ID {}: {}", id, updatedProd);
-        return  ResponseEntity.ok(updatedProd);
+                                                  @RequestParam String newCategory,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+        ProductDto updatedProd = productCommands.changeCategory(id, newCategory,
+                ProductEtags.expectedVersion(id, ifMatch));
+        log.debug("Category for product ID {} is now '{}'", id, updatedProd.getCategory());
+        return  ResponseEntity.ok().eTag(ProductEtags.of(updatedProd)).body(updatedProd);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createProducts(@RequestBody List<ProductDto> productDtos) {
+        return ResponseEntity.ok(productBatchService.createProducts(productDtos));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateProducts(@RequestBody List<ProductDto> productDtos) {
+        return ResponseEntity.ok(productBatchService.updateProducts(productDtos));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteProducts(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(productBatchService.deleteProducts(ids));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        log.info("It was requested deletion of product with ID {}", id);
-        productService.deleteProduct(id);
+    public ResponseEntity<Void> deleteProduct(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch) {
+        productCommands.deleteProduct(id, ProductEtags.expectedVersion(id, ifMatch));
         log.debug("Deletion confirmed for product ID {}", id);
         return ResponseEntity.noContent().build();
     }
-
 }
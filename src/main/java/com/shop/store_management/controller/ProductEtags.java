@@ -0,0 +1,76 @@
+package com.shop.store_management.controller;
+
+import com.shop.store_management.exception.PreconditionFailedException;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPage;
+import com.shop.store_management.model.entities.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ETags derived from product versions. A single product gets the strong tag {@code "<id>-<version>"},
+ * which {@code If-Match} relies on. A page gets a weak tag over a digest of the ids and versions it
+ * contains: it is only used for {@code If-None-Match}, and Tomcat refuses to gzip a response that
+ * carries a strong tag.
+ */
+final class ProductEtags {
+
+    private static final Pattern PRODUCT_TAG = Pattern.compile("(?:W/)?\"(\\d+)-(\\d+)\"");
+
+    private ProductEtags() {
+    }
+
+    static String of(ProductDto product) {
+        return "\"" + product.getId() + "-" + product.getVersion() + "\"";
+    }
+
+    static String of(ProductPage page) {
+        MessageDigest digest = sha256();
+        for (Product product : page.getItems()) {
+            digest.update((product.getId() + "-" + product.getVersion() + ";").getBytes(StandardCharsets.US_ASCII));
+        }
+        digest.update(String.valueOf(page.getNextCursor()).getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    /**
+     * Version the client expects from its {@code If-Match} header, or {@code null} when there is no
+     * header or it is {@code *}. A weak product tag is accepted as well: the version alone decides,
+     * and a compressing proxy may have weakened the tag it passed on.
+     *
+     * @throws ValidationException when the header is not a product ETag at all, e.g. a page's tag
+     * @throws PreconditionFailedException when it is the tag of another product
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        Matcher matcher = PRODUCT_TAG.matcher(tag);
+        if (!matcher.matches()) {
+            throw new ValidationException("If-Match must carry a product ETag, got " + tag);
+        }
+        if (!matcher.group(1).equals(String.valueOf(id))) {
+            throw new PreconditionFailedException("ETag " + tag + " does not match product " + id);
+        }
+        try {
+            return Long.parseLong(matcher.group(2));
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("If-Match must carry a product ETag, got " + tag);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.shop.store_management.controller;
+
+import com.shop.store_management.importer.ImportFormat;
+import com.shop.store_management.model.dtos.ImportJobDto;
+import com.shop.store_management.service.ProductImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Imports run in the background: starting one answers 202 with the job, whose {@code Location}
+ * reports progress and row errors.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/products/imports")
+public class ProductImportController {
+
+    private final ProductImportService importService;
+
+    @Autowired
+    public ProductImportController(ProductImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = {ImportFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobDto> importUpload(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                     @RequestParam(required = false) String name,
+                                                     InputStream body) throws IOException {
+        ImportJobDto job = importService.importUpload(body, MediaType.parseMediaType(contentType), name);
+        log.debug("Import job {} started from upload", job.getId());
+        return accepted(job);
+    }
+
+    @PostMapping("/files")
+    public ResponseEntity<ImportJobDto> importFile(@RequestParam String path) {
+        ImportJobDto job = importService.importFile(path);
+        log.debug("Import job {} started from file {}", job.getId(), path);
+        return accepted(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDto> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importService.getJob(jobId));
+    }
+
+    private static ResponseEntity<ImportJobDto> accepted(ImportJobDto job) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/products/imports/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+}
@@ -0,0 +1,10 @@
+package com.shop.store_management.event;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    PRICE_CHANGED,
+    STOCK_CHANGED,
+    CATEGORY_CHANGED,
+    DELETED
+}
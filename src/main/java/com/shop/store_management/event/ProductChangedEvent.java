@@ -0,0 +1,23 @@
+package com.shop.store_management.event;
+
+import com.shop.store_management.model.dtos.ProductDto;
+
+/**
+ * Published by the service layer inside the writing transaction for every product mutation.
+ * {@code product} is the state after the change; it is {@code null} for deletions and for in-place
+ * updates that never loaded the row.
+ */
+public record ProductChangedEvent(ProductChangeType type, Long productId, ProductDto product) {
+
+    public static ProductChangedEvent of(ProductChangeType type, ProductDto product) {
+        return new ProductChangedEvent(type, product.getId(), product);
+    }
+
+    public static ProductChangedEvent changed(ProductChangeType type, Long productId) {
+        return new ProductChangedEvent(type, productId, null);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(ProductChangeType.DELETED, productId, null);
+    }
+}
@@ -1,6 +1,11 @@
 package com.shop.store_management.exception;
 
+import com.shop.store_management.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,20 +13,65 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
+        count(ex);
         return new ResponseEntity<>("Resource was not found" + ex.getMessage(), HttpStatus.NOT_FOUND);
     }
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<String> handleValidationException(ValidationException ex) {
+        count(ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body("Validation failed: " + ex.getMessage());
     }
 
     @ExceptionHandler(UnauthorizedAccessException.class)
     public ResponseEntity<String> handleUnauthorizedAccess(UnauthorizedAccessException ex) {
+        count(ex);
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body("Access denied: " + ex.getMessage());
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<String> handleInsufficientStock(InsufficientStockException ex) {
+        count(ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("Insufficient stock: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailed(PreconditionFailedException ex) {
+        count(ex);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body("Precondition failed: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailable(ServiceUnavailableException ex) {
+        count(ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Service unavailable: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        count(ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("Concurrent modification: product was changed by another request, reload and retry");
+    }
+
+    /**
+     * Tagged with the exception class only, a small fixed set; the message may carry ids.
+     */
+    private void count(Exception ex) {
+        meterRegistry.counter(MetricsConfig.HANDLED_EXCEPTIONS, "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
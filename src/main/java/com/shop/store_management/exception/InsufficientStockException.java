@@ -0,0 +1,8 @@
+package com.shop.store_management.exception;
+
+public final class InsufficientStockException extends StoreException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
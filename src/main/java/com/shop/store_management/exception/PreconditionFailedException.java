@@ -0,0 +1,8 @@
+package com.shop.store_management.exception;
+
+public final class PreconditionFailedException extends StoreException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.shop.store_management.exception;
+
+public final class ServiceUnavailableException extends StoreException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,7 +2,8 @@ package com.shop.store_management.exception;
 
 
 public sealed class StoreException extends RuntimeException
-        permits ResourceNotFoundException, ValidationException, UnauthorizedAccessException {
+        permits ResourceNotFoundException, ValidationException, UnauthorizedAccessException,
+        InsufficientStockException, PreconditionFailedException, ServiceUnavailableException {
 
     public StoreException(String message) {
         super(message);
@@ -0,0 +1,11 @@
+package com.shop.store_management.importer;
+
+import com.shop.store_management.model.dtos.ImportRowError;
+
+import java.util.List;
+
+/**
+ * Outcome of writing the rows of one {@link ParsedChunk}.
+ */
+public record ChunkResult(int created, int updated, List<ImportRowError> errors) {
+}
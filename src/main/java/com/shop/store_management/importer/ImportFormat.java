@@ -0,0 +1,54 @@
+package com.shop.store_management.importer;
+
+import com.shop.store_management.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+
+    /**
+     * Header line naming the columns (name, description, price, stockQuantity, category in any
+     * order), then one product per line. Quoted fields may contain commas and doubled quotes but not
+     * line breaks.
+     */
+    CSV(MediaType.parseMediaType("text/csv"), ".csv"),
+
+    /**
+     * One product JSON object per line, as served by the export.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, ".ndjson");
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    ImportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static ImportFormat of(MediaType contentType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.includes(contentType)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported import content type " + contentType);
+    }
+
+    public static ImportFormat of(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        for (ImportFormat format : values()) {
+            if (lower.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Import files must end in .csv, .ndjson or .jsonl");
+    }
+}
@@ -0,0 +1,130 @@
+package com.shop.store_management.importer;
+
+import com.shop.store_management.model.dtos.ImportJobDto;
+import com.shop.store_management.model.dtos.ImportJobStatus;
+import com.shop.store_management.model.dtos.ImportRowError;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of one import. Updated by the job's thread after each written chunk and read by status
+ * requests, hence the monitor on every method.
+ */
+public class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+
+    private final String source;
+
+    private final ImportFormat format;
+
+    private final int maxReportedErrors;
+
+    private final Clock clock;
+
+    private final Instant submittedAt;
+
+    private final List<ImportRowError> errors = new ArrayList<>();
+
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    private long totalBytes;
+
+    private long processedBytes;
+
+    private long processedLines;
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    private String message;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    public ImportJob(String source, ImportFormat format, int maxReportedErrors, Clock clock) {
+        this.source = source;
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+        this.clock = clock;
+        this.submittedAt = Instant.now(clock);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized void start(long totalBytes) {
+        this.status = ImportJobStatus.RUNNING;
+        this.totalBytes = totalBytes;
+        this.startedAt = Instant.now(clock);
+    }
+
+    /**
+     * Counts a chunk once its rows are written: parse errors and write errors together.
+     */
+    public synchronized void record(ParsedChunk chunk, ChunkResult result) {
+        processedBytes = chunk.endOffset();
+        processedLines += chunk.lines();
+        created += result.created();
+        updated += result.updated();
+        reject(chunk.errors());
+        reject(result.errors());
+    }
+
+    public synchronized void complete() {
+        status = ImportJobStatus.COMPLETED;
+        finishedAt = Instant.now(clock);
+    }
+
+    public synchronized void fail(String reason) {
+        status = ImportJobStatus.FAILED;
+        message = reason;
+        finishedAt = Instant.now(clock);
+    }
+
+    public synchronized boolean finishedBefore(Instant instant) {
+        return finishedAt != null && finishedAt.isBefore(instant);
+    }
+
+    public synchronized ImportJobDto toDto() {
+        List<ImportRowError> sorted = new ArrayList<>(errors);
+        sorted.sort(Comparator.comparingLong(ImportRowError::getLine));
+        return ImportJobDto.builder()
+                .id(id)
+                .status(status)
+                .source(source)
+                .format(format.name())
+                .totalBytes(totalBytes)
+                .processedBytes(processedBytes)
+                .processedLines(processedLines)
+                .created(created)
+                .updated(updated)
+                .failed(failed)
+                .errors(sorted)
+                .message(message)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    private void reject(List<ImportRowError> rowErrors) {
+        failed += rowErrors.size();
+        for (ImportRowError error : rowErrors) {
+            if (errors.size() >= maxReportedErrors) {
+                return;
+            }
+            errors.add(error);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.shop.store_management.importer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Consecutive whole lines of an import file, copied out of the mapped file.
+ *
+ * @param firstLine 1-based line number of the first line in {@code data}
+ * @param endOffset file offset just past the chunk, for progress reporting
+ */
+public record LineChunk(long firstLine, byte[] data, long endOffset) {
+
+    /**
+     * The first line without its terminator, e.g. a CSV header.
+     */
+    public String firstLineText() {
+        int end = 0;
+        while (end < data.length && data[end] != '\n') {
+            end++;
+        }
+        if (end > 0 && data[end - 1] == '\r') {
+            end--;
+        }
+        return new String(data, 0, end, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.shop.store_management.importer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Cuts a file into {@link LineChunk}s of up to {@code chunkLines} lines. The file is memory-mapped in
+ * windows of at most {@code windowSize} bytes, so it is read through the page cache without a copy
+ * into an intermediate buffer, and files larger than 2 GB work. Only the chunks themselves are copied
+ * onto the heap.
+ *
+ * <p>Not thread-safe: one job's reader thread calls {@link #next()}, the chunks go to the parsers.
+ */
+public class MappedLineReader {
+
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private final int chunkLines;
+
+    private final int windowSize;
+
+    private final long size;
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    /**
+     * File offset of the first byte not handed out yet.
+     */
+    private long position;
+
+    private long nextLine = 1;
+
+    public MappedLineReader(FileChannel channel, int chunkLines) throws IOException {
+        this(channel, chunkLines, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedLineReader(FileChannel channel, int chunkLines, int windowSize) throws IOException {
+        this.channel = channel;
+        this.chunkLines = chunkLines;
+        this.windowSize = windowSize;
+        this.size = channel.size();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the next lines, or {@code null} at the end of the file
+     * @throws IOException also when a single line does not fit into one window
+     */
+    public LineChunk next() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+        if (window == null) {
+            map(position);
+        }
+        while (true) {
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            int lines = 0;
+            int end = from;
+            for (int i = from; i < limit && lines < chunkLines; i++) {
+                if (window.get(i) == '\n') {
+                    lines++;
+                    end = i + 1;
+                }
+            }
+            boolean windowReachesEnd = windowStart + limit == size;
+            if (lines < chunkLines && windowReachesEnd && end < limit) {
+                // last line without a terminator
+                lines++;
+                end = limit;
+            }
+            if (lines == chunkLines || windowReachesEnd || (from == 0 && lines > 0)) {
+                return take(from, end, lines);
+            }
+            if (from == 0) {
+                throw new IOException("Line " + nextLine + " is longer than " + windowSize + " bytes");
+            }
+            // the chunk runs past the window: slide the window to where the chunk starts
+            map(position);
+        }
+    }
+
+    private LineChunk take(int from, int end, int lines) {
+        byte[] data = new byte[end - from];
+        window.get(from, data);
+        LineChunk chunk = new LineChunk(nextLine, data, windowStart + end);
+        position = windowStart + end;
+        nextLine += lines;
+        return chunk;
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+}
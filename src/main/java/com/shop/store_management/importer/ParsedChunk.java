@@ -0,0 +1,11 @@
+package com.shop.store_management.importer;
+
+import com.shop.store_management.model.dtos.ImportRowError;
+
+import java.util.List;
+
+/**
+ * Parse result of one {@link LineChunk}: the valid rows in file order and the rejected ones.
+ */
+public record ParsedChunk(List<ParsedRow> rows, List<ImportRowError> errors, int lines, long endOffset) {
+}
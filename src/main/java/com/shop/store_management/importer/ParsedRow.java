@@ -0,0 +1,6 @@
+package com.shop.store_management.importer;
+
+import com.shop.store_management.model.dtos.ProductDto;
+
+public record ParsedRow(long line, ProductDto product) {
+}
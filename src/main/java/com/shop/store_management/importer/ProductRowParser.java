@@ -0,0 +1,231 @@
+package com.shop.store_management.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.dtos.ImportRowError;
+import com.shop.store_management.model.dtos.ProductDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a {@link LineChunk} into validated {@link ProductDto}s. Stateless once built, so one instance
+ * parses all chunks of a job concurrently.
+ */
+public abstract class ProductRowParser {
+
+    private final Validator validator;
+
+    private ProductRowParser(Validator validator) {
+        this.validator = validator;
+    }
+
+    public static ProductRowParser ndjson(ObjectReader productReader, Validator validator) {
+        return new NdjsonParser(productReader, validator);
+    }
+
+    /**
+     * @param header the first line of the file, which is skipped when parsing
+     */
+    public static ProductRowParser csv(String header, Validator validator) {
+        return new CsvParser(header, validator);
+    }
+
+    public ParsedChunk parse(LineChunk chunk) {
+        byte[] data = chunk.data();
+        List<ParsedRow> rows = new ArrayList<>();
+        List<ImportRowError> errors = new ArrayList<>();
+        long line = chunk.firstLine();
+        int lines = 0;
+        int start = 0;
+        while (start < data.length) {
+            int end = start;
+            while (end < data.length && data[end] != '\n') {
+                end++;
+            }
+            int length = end - start;
+            if (length > 0 && data[end - 1] == '\r') {
+                length--;
+            }
+            if (length > 0 && !skip(line)) {
+                try {
+                    ProductDto product = read(data, start, length);
+                    product.setId(null);
+                    String violations = validate(product);
+                    if (violations == null) {
+                        rows.add(new ParsedRow(line, product));
+                    } else {
+                        errors.add(new ImportRowError(line, violations));
+                    }
+                } catch (ValidationException ex) {
+                    errors.add(new ImportRowError(line, ex.getMessage()));
+                }
+            }
+            line++;
+            lines++;
+            start = end + 1;
+        }
+        return new ParsedChunk(rows, errors, lines, chunk.endOffset());
+    }
+
+    /**
+     * @throws ValidationException if the line is not a product
+     */
+    abstract ProductDto read(byte[] data, int offset, int length);
+
+    boolean skip(long line) {
+        return false;
+    }
+
+    private String validate(ProductDto dto) {
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private static final class NdjsonParser extends ProductRowParser {
+
+        private final ObjectReader productReader;
+
+        NdjsonParser(ObjectReader productReader, Validator validator) {
+            super(validator);
+            this.productReader = productReader;
+        }
+
+        @Override
+        ProductDto read(byte[] data, int offset, int length) {
+            try {
+                return productReader.readValue(data, offset, length);
+            } catch (JsonProcessingException ex) {
+                throw new ValidationException("Malformed JSON: " + ex.getOriginalMessage());
+            } catch (IOException ex) {
+                throw new ValidationException("Malformed JSON: " + ex.getMessage());
+            }
+        }
+    }
+
+    private static final class CsvParser extends ProductRowParser {
+
+        private static final int NAME = 0;
+
+        private static final int DESCRIPTION = 1;
+
+        private static final int PRICE = 2;
+
+        private static final int STOCK_QUANTITY = 3;
+
+        private static final int CATEGORY = 4;
+
+        /**
+         * Column index of each field above, -1 when the file has no such column.
+         */
+        private final int[] columns = {-1, -1, -1, -1, -1};
+
+        CsvParser(String header, Validator validator) {
+            super(validator);
+            List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            for (int i = 0; i < names.size(); i++) {
+                int field = switch (names.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "")) {
+                    case "name", "productname" -> NAME;
+                    case "description" -> DESCRIPTION;
+                    case "price" -> PRICE;
+                    case "stockquantity", "stock" -> STOCK_QUANTITY;
+                    case "category" -> CATEGORY;
+                    default -> -1;
+                };
+                if (field >= 0) {
+                    columns[field] = i;
+                }
+            }
+            if (columns[NAME] < 0 || columns[PRICE] < 0 || columns[STOCK_QUANTITY] < 0 || columns[CATEGORY] < 0) {
+                throw new ValidationException("CSV header must name the name, price, stockQuantity and category columns");
+            }
+        }
+
+        @Override
+        boolean skip(long line) {
+            return line == 1;
+        }
+
+        @Override
+        ProductDto read(byte[] data, int offset, int length) {
+            List<String> fields = split(new String(data, offset, length, StandardCharsets.UTF_8));
+            return ProductDto.builder()
+                    .name(field(fields, NAME))
+                    .description(field(fields, DESCRIPTION))
+                    .price(price(field(fields, PRICE)))
+                    .stockQuantity(stockQuantity(field(fields, STOCK_QUANTITY)))
+                    .category(field(fields, CATEGORY))
+                    .build();
+        }
+
+        private String field(List<String> fields, int field) {
+            int column = columns[field];
+            return column < 0 || column >= fields.size() ? null : fields.get(column);
+        }
+
+        private static BigDecimal price(String value) {
+            if (value == null || value.isBlank()) {
+                throw new ValidationException("Price is required");
+            }
+            try {
+                return new BigDecimal(value.trim());
+            } catch (NumberFormatException ex) {
+                throw new ValidationException("Price '" + value + "' is not a number");
+            }
+        }
+
+        private static int stockQuantity(String value) {
+            if (value == null || value.isBlank()) {
+                throw new ValidationException("Stock quantity is required");
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException ex) {
+                throw new ValidationException("Stock quantity '" + value + "' is not a whole number");
+            }
+        }
+
+        /**
+         * RFC 4180 fields of one line: commas inside quotes are data and {@code ""} is a literal quote.
+         */
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
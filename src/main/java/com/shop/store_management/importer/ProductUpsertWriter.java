@@ -0,0 +1,211 @@
+package com.shop.store_management.importer;
+
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.model.dtos.ImportRowError;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.service.ProductCacheInvalidator;
+import com.shop.store_management.service.ProductWriteBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Upserts imported rows by product name with plain JDBC batches, one transaction per chunk: one
+ * SELECT finds the existing products, then one batched UPDATE and one batched INSERT write the
+ * chunk. Like the batch endpoints, a chunk that fails is replayed row by row so that one bad row
+ * only fails itself.
+ */
+@Slf4j
+@Component
+public class ProductUpsertWriter {
+
+    /**
+     * Must match the increment of {@code product_seq} and the entity's allocation size: each value
+     * taken from the sequence reserves this many ids (pooled-lo), like Hibernate does.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String FIND_BY_NAME_SQL =
+            "SELECT id, product_name, version FROM product WHERE product_name IN (:names) ORDER BY id";
+
+    private static final String NEXT_ID_BLOCK_SQL = "SELECT NEXT VALUE FOR product_seq";
+
+    private static final String INSERT_SQL = "INSERT INTO product (id, product_name, description, price, "
+            + "stock_quantity, category, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String UPDATE_SQL = "UPDATE product SET description = ?, price = ?, stock_quantity = ?, "
+            + "category = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductCacheInvalidator cacheInvalidator;
+
+    private final ProductWriteBuffer writeBuffer;
+
+    @Autowired
+    public ProductUpsertWriter(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher, ProductCacheInvalidator cacheInvalidator,
+                               ProductWriteBuffer writeBuffer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheInvalidator = cacheInvalidator;
+        this.writeBuffer = writeBuffer;
+    }
+
+    public ChunkResult write(List<ParsedRow> rows) {
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, 0, List.of());
+        }
+        try {
+            flushBufferedChanges(rows);
+            return transactionTemplate.execute(status -> upsert(rows));
+        } catch (RuntimeException ex) {
+            if (rows.size() == 1) {
+                String error = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                return new ChunkResult(0, 0, List.of(new ImportRowError(rows.get(0).line(), error)));
+            }
+            log.warn("Import chunk of {} rows failed, retrying one by one: {}", rows.size(), ex.getMessage());
+            int created = 0;
+            int updated = 0;
+            List<ImportRowError> errors = new ArrayList<>();
+            for (ParsedRow row : rows) {
+                ChunkResult result = write(List.of(row));
+                created += result.created();
+                updated += result.updated();
+                errors.addAll(result.errors());
+            }
+            return new ChunkResult(created, updated, errors);
+        }
+    }
+
+    /**
+     * Buffered price/stock changes of the products about to be overwritten must land first, and
+     * before the chunk's transaction starts.
+     */
+    private void flushBufferedChanges(List<ParsedRow> rows) {
+        if (!writeBuffer.hasPending()) {
+            return;
+        }
+        Map<String, Existing> existing = findExisting(byName(rows));
+        writeBuffer.flushPending(existing.values().stream().map(Existing::id).toList());
+    }
+
+    private ChunkResult upsert(List<ParsedRow> rows) {
+        Map<String, ProductDto> byName = byName(rows);
+        Map<String, Existing> existing = findExisting(byName);
+
+        List<ProductDto> inserts = new ArrayList<>();
+        List<ProductDto> updates = new ArrayList<>();
+        for (Map.Entry<String, ProductDto> entry : byName.entrySet()) {
+            ProductDto product = entry.getValue();
+            Existing found = existing.get(entry.getKey());
+            if (found == null) {
+                inserts.add(product);
+            } else {
+                product.setId(found.id());
+                product.setVersion(found.version() + 1);
+                updates.add(product);
+            }
+        }
+
+        assignIds(inserts);
+        if (!inserts.isEmpty()) {
+            insert(inserts);
+        }
+        if (!updates.isEmpty()) {
+            update(updates);
+        }
+
+        inserts.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangeType.CREATED, product)));
+        updates.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangeType.UPDATED, product)));
+        List<Long> updatedIds = updates.stream().map(ProductDto::getId).toList();
+        cacheInvalidator.evictProducts(updatedIds);
+        cacheInvalidator.evictPersistenceCache(updatedIds);
+        cacheInvalidator.evictCategories();
+        return new ChunkResult(inserts.size(), rows.size() - inserts.size(), List.of());
+    }
+
+    /**
+     * A name repeated within the chunk keeps its last row; the earlier ones count as updates of it.
+     */
+    private static Map<String, ProductDto> byName(List<ParsedRow> rows) {
+        Map<String, ProductDto> byName = new LinkedHashMap<>();
+        rows.forEach(row -> byName.put(row.product().getName(), row.product()));
+        return byName;
+    }
+
+    /**
+     * Oldest product per name; names are not unique, so later duplicates are left alone.
+     */
+    private Map<String, Existing> findExisting(Map<String, ProductDto> byName) {
+        Map<String, Existing> existing = new HashMap<>();
+        jdbcTemplate.query(FIND_BY_NAME_SQL, Map.of("names", byName.keySet()), resultSet -> {
+            existing.putIfAbsent(resultSet.getString("product_name"),
+                    new Existing(resultSet.getLong("id"), resultSet.getLong("version")));
+        });
+        return existing;
+    }
+
+    private void insert(List<ProductDto> inserts) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, inserts, inserts.size(), (statement, product) -> {
+            statement.setLong(1, product.getId());
+            statement.setString(2, product.getName());
+            statement.setString(3, product.getDescription());
+            statement.setBigDecimal(4, product.getPrice());
+            statement.setInt(5, product.getStockQuantity());
+            statement.setString(6, product.getCategory());
+        });
+    }
+
+    private void update(List<ProductDto> updates) {
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SQL, updates, updates.size(),
+                (statement, product) -> {
+                    statement.setString(1, product.getDescription());
+                    statement.setBigDecimal(2, product.getPrice());
+                    statement.setInt(3, product.getStockQuantity());
+                    statement.setString(4, product.getCategory());
+                    statement.setLong(5, product.getId());
+                    statement.setLong(6, product.getVersion() - 1);
+                })[0];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new OptimisticLockingFailureException("Product " + updates.get(i).getId()
+                        + " was modified during the import, expected version " + (updates.get(i).getVersion() - 1));
+            }
+        }
+    }
+
+    private void assignIds(List<ProductDto> inserts) {
+        long next = 0;
+        long blockEnd = 0;
+        for (ProductDto product : inserts) {
+            if (next == blockEnd) {
+                next = jdbcTemplate.getJdbcTemplate().queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+                blockEnd = next + ID_BLOCK_SIZE;
+            }
+            product.setId(next++);
+            product.setVersion(0L);
+        }
+    }
+
+    private record Existing(long id, long version) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.shop.store_management.mapper;
+
+import com.shop.store_management.model.dtos.ProductChangeDto;
+import com.shop.store_management.model.entities.ProductChange;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ProductChangeMapper {
+
+    public ProductChangeDto toDto(ProductChange entity) {
+        if (entity == null) return null;
+
+        return ProductChangeDto.builder()
+                .seq(entity.getSeq())
+                .productId(entity.getProductId())
+                .type(entity.getType())
+                .occurredAt(entity.getOccurredAt())
+                .product(entity.getPayload())
+                .build();
+    }
+
+    public List<ProductChangeDto> toDtoList(List<ProductChange> entities) {
+        return entities.stream().map(this::toDto).toList();
+    }
+}
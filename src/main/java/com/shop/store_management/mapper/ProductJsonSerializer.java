@@ -0,0 +1,73 @@
+package com.shop.store_management.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.shop.store_management.model.entities.Product;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Product} straight to the generator in exactly the shape Jackson gives a
+ * {@link com.shop.store_management.model.dtos.ProductDto}, so read paths can hand entities to the
+ * response without building a DTO per row. Field names are encoded once up front.
+ *
+ * <p>Registered with the application {@code ObjectMapper} as a {@link JsonComponent}; streaming
+ * writers call {@link #write(Product, JsonGenerator)} directly.
+ */
+@JsonComponent
+public class ProductJsonSerializer extends StdSerializer<Product> {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString NAME = new SerializedString("name");
+
+    private static final SerializableString PRICE = new SerializedString("price");
+
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+
+    private static final SerializableString STOCK_QUANTITY = new SerializedString("stockQuantity");
+
+    private static final SerializableString CATEGORY = new SerializedString("category");
+
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    public ProductJsonSerializer() {
+        super(Product.class);
+    }
+
+    @Override
+    public void serialize(Product product, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        write(product, generator);
+    }
+
+    public void write(Product product, JsonGenerator generator) throws IOException {
+        generator.writeStartObject(product);
+        generator.writeFieldName(ID);
+        writeNumber(generator, product.getId());
+        generator.writeFieldName(NAME);
+        generator.writeString(product.getName());
+        generator.writeFieldName(PRICE);
+        generator.writeNumber(product.getPrice());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(product.getDescription());
+        generator.writeFieldName(STOCK_QUANTITY);
+        generator.writeNumber(product.getStockQuantity());
+        generator.writeFieldName(CATEGORY);
+        generator.writeString(product.getCategory());
+        generator.writeFieldName(VERSION);
+        writeNumber(generator, product.getVersion());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
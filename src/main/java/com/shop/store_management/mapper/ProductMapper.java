@@ -21,6 +21,7 @@ public class ProductMapper implements DtoProductMapper<Product, ProductDto> {
                 .price(entity.getPrice())
                 .stockQuantity(entity.getStockQuantity())
                 .category(entity.getCategory())
+                .version(entity.getVersion())
                 .build();
     }
 
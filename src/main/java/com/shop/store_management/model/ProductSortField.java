@@ -0,0 +1,50 @@
+package com.shop.store_management.model;
+
+import com.shop.store_management.exception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Sort keys supported by the keyset-paginated product listing. Every key other than {@code id}
+ * itself is paired with {@code id} as a tie-breaker, so each one needs a matching
+ * {@code (column, id)} index.
+ */
+public enum ProductSortField {
+
+    ID("id"),
+    PRICE("price"),
+    NAME("name"),
+    CATEGORY("category");
+
+    private final String param;
+
+    ProductSortField(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * The order rows are listed in: this key, then {@code id} unless the key already is {@code id}.
+     */
+    public Sort toSort() {
+        return this == ID ? Sort.by(param) : Sort.by(param, ID.param);
+    }
+
+    public static ProductSortField fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return ID;
+        }
+        String normalized = param.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(field -> field.param.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Unsupported sort '" + param + "', expected one of "
+                        + Arrays.stream(values()).map(ProductSortField::getParam).collect(Collectors.joining(", "))));
+    }
+}
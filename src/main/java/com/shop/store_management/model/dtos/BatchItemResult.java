@@ -0,0 +1,25 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemResult {
+
+    /**
+     * Position of the item in the request array.
+     */
+    private int index;
+
+    private Long id;
+
+    private BatchItemStatus status;
+
+    private String error;
+
+}
@@ -0,0 +1,10 @@
+package com.shop.store_management.model.dtos;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategorySummaryDto {
+
+    private String category;
+
+    private Long productCount;
+
+}
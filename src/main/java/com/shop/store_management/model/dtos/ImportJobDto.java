@@ -0,0 +1,59 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportJobDto {
+
+    private String id;
+
+    private ImportJobStatus status;
+
+    /**
+     * Original file name of an upload, or the path of a server-side file.
+     */
+    private String source;
+
+    private String format;
+
+    private long totalBytes;
+
+    /**
+     * Bytes of the file whose rows have been written or rejected.
+     */
+    private long processedBytes;
+
+    private long processedLines;
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    /**
+     * The first {@code store.products.import.max-reported-errors} row errors, by line.
+     */
+    private List<ImportRowError> errors;
+
+    /**
+     * Why the job as a whole failed.
+     */
+    private String message;
+
+    private Instant submittedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+}
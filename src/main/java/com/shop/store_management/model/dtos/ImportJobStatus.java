@@ -0,0 +1,8 @@
+package com.shop.store_management.model.dtos;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportRowError {
+
+    /**
+     * 1-based line in the imported file.
+     */
+    private long line;
+
+    private String error;
+
+}
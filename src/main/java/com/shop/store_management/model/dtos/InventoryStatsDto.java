@@ -0,0 +1,30 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InventoryStatsDto {
+
+    private String category;
+
+    private long productCount;
+
+    private long stockUnits;
+
+    private BigDecimal inventoryValue;
+
+    private BigDecimal averagePrice;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+}
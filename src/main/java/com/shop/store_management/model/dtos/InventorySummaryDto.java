@@ -0,0 +1,20 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InventorySummaryDto {
+
+    private InventoryStatsDto total;
+
+    private List<InventoryStatsDto> categories;
+
+}
@@ -0,0 +1,20 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LowStockItemDto {
+
+    private Long id;
+
+    private String category;
+
+    private Integer stockQuantity;
+
+}
@@ -0,0 +1,32 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PriceDistributionDto {
+
+    private String category;
+
+    private long productCount;
+
+    private BigDecimal averagePrice;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    /**
+     * Keyed {@code p50}, {@code p99.9}, ... in request order.
+     */
+    private Map<String, BigDecimal> percentiles;
+
+}
@@ -0,0 +1,35 @@
+package com.shop.store_management.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.shop.store_management.event.ProductChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductChangeDto {
+
+    /**
+     * Position in the change feed; pass the last one seen as {@code since} to resume.
+     */
+    private Long seq;
+
+    private Long productId;
+
+    private ProductChangeType type;
+
+    private Instant occurredAt;
+
+    /**
+     * Product JSON as stored in the outbox, written through without re-parsing.
+     */
+    @JsonRawValue
+    private String product;
+
+}
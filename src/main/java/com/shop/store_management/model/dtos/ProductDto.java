@@ -32,7 +32,13 @@ public class ProductDto {
     @Min(value = 0, message = "Stock quantity must be positive")
     private int stockQuantity;
 
+    @NotBlank(message = "Category cannot be blank")
     @Size(max = 50, message = "Category must be at most 50 characters")
     private String category;
 
+    /**
+     * Optimistic-lock version; also the basis of the product's ETag.
+     */
+    private Long version;
+
 }
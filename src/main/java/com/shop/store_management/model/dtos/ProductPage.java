@@ -0,0 +1,34 @@
+package com.shop.store_management.model.dtos;
+
+import com.shop.store_management.model.entities.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductPage {
+
+    /**
+     * Entities rather than DTOs: they are written by {@code ProductJsonSerializer} in the
+     * {@link ProductDto} shape without an intermediate copy per row.
+     */
+    private List<Product> items;
+
+    private int size;
+
+    private String sort;
+
+    /**
+     * Opaque token to pass back as {@code cursor} for the following page, {@code null} on the last page.
+     */
+    private String nextCursor;
+
+    private String next;
+
+}
@@ -0,0 +1,54 @@
+package com.shop.store_management.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * JSON Merge Patch body for a product. A field that is absent is left unchanged; every column is
+ * mandatory, so an explicit {@code null} cannot remove a value and is treated the same as absent.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductPatch {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Name cannot be blank")
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+
+    @Min(value = 0, message = "Price must be positive")
+    private BigDecimal price;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description cannot be blank")
+    @Size(max = 255, message = "Description must be at most 255 characters")
+    private String description;
+
+    @Min(value = 0, message = "Stock quantity must be positive")
+    private Integer stockQuantity;
+
+    @Size(max = 50, message = "Category must be at most 50 characters")
+    private String category;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return name == null && price == null && description == null && stockQuantity == null && category == null;
+    }
+
+    /**
+     * Whether the patch touches name, description or category, the fields that the full-text index
+     * and the category summary are built from.
+     */
+    @JsonIgnore
+    public boolean touchesText() {
+        return name != null || description != null || category != null;
+    }
+}
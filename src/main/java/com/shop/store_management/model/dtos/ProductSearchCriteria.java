@@ -0,0 +1,26 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchCriteria {
+
+    private String category;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private boolean inStockOnly;
+
+    private String namePrefix;
+
+}
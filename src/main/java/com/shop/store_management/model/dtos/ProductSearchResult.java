@@ -0,0 +1,29 @@
+package com.shop.store_management.model.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchResult {
+
+    private List<ProductDto> items;
+
+    private int page;
+
+    private int size;
+
+    private long totalElements;
+
+    /**
+     * Matches per category for the same filters, ignoring the category filter itself.
+     */
+    private List<CategorySummaryDto> facets;
+
+}
@@ -7,12 +7,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.shop.store_management.config.CacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
+/**
+ * {@code @DynamicUpdate} makes Hibernate write only the columns that changed, so a one-field
+ * change does not rewrite the whole row. Loads by id are served from the second-level cache;
+ * read-write concurrency soft-locks an entry while a transaction changes it.
+ */
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.PRODUCT_REGION)
 @Table(name = "product")
 @Data
 @NoArgsConstructor
@@ -20,7 +32,8 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Builder
 public class Product {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     @Column(name = "id",nullable = false, updatable = false)
     private Long id;
 
@@ -42,4 +55,8 @@ public class Product {
     @Column(name = "category", nullable = false, length = 60)
     private String category;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
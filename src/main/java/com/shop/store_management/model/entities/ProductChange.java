@@ -0,0 +1,58 @@
+package com.shop.store_management.model.entities;
+
+import com.shop.store_management.event.ProductChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Outbox row written in the same transaction as the product change it describes. Its feed position
+ * ({@code seq}) is assigned after commit by the
+ * {@link com.shop.store_management.outbox.ProductChangeSequencer}.
+ */
+@Entity
+@Table(name = "product_change")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChange {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "product_change_seq")
+    @SequenceGenerator(name = "product_change_seq", sequenceName = "product_change_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    /**
+     * Position in the change feed, in commit order; {@code null} until the sequencer reaches the row.
+     */
+    @Column(name = "seq", insertable = false, updatable = false)
+    private Long seq;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, updatable = false, length = 20)
+    private ProductChangeType type;
+
+    /**
+     * Product state after the change as JSON; {@code null} for deletions and for in-place updates
+     * that never loaded the row.
+     */
+    @Column(name = "payload", updatable = false, length = 1000)
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+}
@@ -0,0 +1,49 @@
+package com.shop.store_management.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shop.store_management.model.dtos.ProductChangeDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch to a local NDJSON file and forces it to disk before returning.
+ */
+public class NdjsonFileChangeSink implements ProductChangeSink {
+
+    private final Path file;
+
+    private final ObjectWriter writer;
+
+    public NdjsonFileChangeSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.writer = objectMapper.writerFor(ProductChangeDto.class);
+    }
+
+    @Override
+    public synchronized void deliver(List<ProductChangeDto> changes) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        StringBuilder lines = new StringBuilder();
+        for (ProductChangeDto change : changes) {
+            lines.append(writer.writeValueAsString(change)).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
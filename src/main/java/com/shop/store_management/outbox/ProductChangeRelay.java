@@ -0,0 +1,93 @@
+package com.shop.store_management.outbox;
+
+import com.shop.store_management.config.OutboxProperties;
+import com.shop.store_management.mapper.ProductChangeMapper;
+import com.shop.store_management.model.dtos.ProductChangeDto;
+import com.shop.store_management.model.entities.ProductChange;
+import com.shop.store_management.repository.ProductChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains unpublished outbox rows to the {@link ProductChangeSink} in batches, in sequence order.
+ * A batch is marked published only after the sink accepted it, so a crash or a sink failure leads
+ * to redelivery, never to loss.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "store.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductChangeRelay implements SchedulingConfigurer {
+
+    private final ProductChangeRepository changeRepository;
+
+    private final ProductChangeMapper changeMapper;
+
+    private final ProductChangeSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties;
+
+    @Autowired
+    public ProductChangeRelay(ProductChangeRepository changeRepository, ProductChangeMapper changeMapper,
+                              ProductChangeSink sink, TransactionTemplate transactionTemplate,
+                              OutboxProperties properties) {
+        this.changeRepository = changeRepository;
+        this.changeMapper = changeMapper;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::relayPending, properties.getRelay().getInterval());
+    }
+
+    public void relayPending() {
+        int batchSize = properties.getRelay().getBatchSize();
+        int delivered;
+        do {
+            delivered = relayBatch(batchSize);
+        } while (delivered == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1M")
+    public void purgePublished() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        Integer deleted = transactionTemplate.execute(status -> changeRepository.deletePublishedBefore(cutoff));
+        log.debug("Purged {} published product changes older than {}", deleted, cutoff);
+    }
+
+    /**
+     * @return number of changes delivered, 0 when nothing was pending or the sink failed
+     */
+    int relayBatch(int batchSize) {
+        List<ProductChange> pending = changeRepository.findUnpublished(Limit.of(batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<ProductChangeDto> batch = changeMapper.toDtoList(pending);
+        try {
+            sink.deliver(batch);
+        } catch (Exception ex) {
+            log.warn("Delivering {} product changes from seq {} failed, will retry: {}",
+                    batch.size(), batch.get(0).getSeq(), ex.getMessage());
+            return 0;
+        }
+        List<Long> seqs = batch.stream().map(ProductChangeDto::getSeq).toList();
+        transactionTemplate.executeWithoutResult(status -> changeRepository.markPublished(seqs, Instant.now()));
+        log.debug("Relayed product changes {} to {}", seqs.get(0), seqs.get(seqs.size() - 1));
+        return batch.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.shop.store_management.outbox;
+
+import com.shop.store_management.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives committed outbox rows their feed position. A number taken when a row is inserted follows
+ * insert order, so a long transaction could commit one below a cursor a consumer has already passed.
+ * Here numbers go only to rows that are already committed, under a lock on the counter row that is
+ * held until the pass commits, so they follow commit order and a cursor never skips a change. The
+ * lock also keeps several instances on one database from interleaving their passes.
+ */
+@Slf4j
+@Component
+public class ProductChangeSequencer implements SchedulingConfigurer {
+
+    private static final String LOCK_SQL = "SELECT last_seq FROM product_change_sequencer WHERE id = 1 FOR UPDATE";
+
+    private static final String UNSEQUENCED_SQL = "SELECT id FROM product_change WHERE seq IS NULL ORDER BY id "
+            + "FETCH FIRST ? ROWS ONLY";
+
+    private static final String ASSIGN_SQL = "UPDATE product_change SET seq = ? WHERE id = ?";
+
+    private static final String ADVANCE_SQL = "UPDATE product_change_sequencer SET last_seq = ? WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties;
+
+    @Autowired
+    public ProductChangeSequencer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.getSequencer().isEnabled()) {
+            registrar.addFixedDelayTask(this::sequencePending, properties.getSequencer().getInterval());
+        }
+    }
+
+    public void sequencePending() {
+        int batchSize = properties.getSequencer().getBatchSize();
+        int sequenced;
+        do {
+            sequenced = sequenceBatch(batchSize);
+        } while (sequenced == batchSize);
+    }
+
+    /**
+     * @return number of changes given a position
+     */
+    int sequenceBatch(int batchSize) {
+        Integer sequenced = transactionTemplate.execute(status -> {
+            long lastSeq = jdbcTemplate.queryForObject(LOCK_SQL, Long.class);
+            // read after taking the lock: everything committed before this pass is included
+            List<Long> ids = jdbcTemplate.queryForList(UNSEQUENCED_SQL, Long.class, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            List<Object[]> assignments = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assignments.add(new Object[]{lastSeq + 1 + i, ids.get(i)});
+            }
+            jdbcTemplate.batchUpdate(ASSIGN_SQL, assignments);
+            jdbcTemplate.update(ADVANCE_SQL, lastSeq + ids.size());
+            return ids.size();
+        });
+        if (sequenced != null && sequenced > 0) {
+            log.debug("Sequenced {} product changes", sequenced);
+        }
+        return sequenced == null ? 0 : sequenced;
+    }
+}
@@ -0,0 +1,19 @@
+package com.shop.store_management.outbox;
+
+import com.shop.store_management.model.dtos.ProductChangeDto;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. Delivery is at-least-once: a batch is redelivered when the
+ * relay dies between a successful {@code deliver} and marking the batch published, so receivers
+ * should de-duplicate on {@link ProductChangeDto#getSeq()}.
+ */
+public interface ProductChangeSink {
+
+    /**
+     * Delivers the batch in order or throws; a thrown batch is retried on the next relay run.
+     */
+    void deliver(List<ProductChangeDto> changes) throws Exception;
+
+}
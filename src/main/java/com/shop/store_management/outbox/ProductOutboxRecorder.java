@@ -0,0 +1,61 @@
+package com.shop.store_management.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.ProductChange;
+import com.shop.store_management.repository.ProductChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Writes every {@link ProductChangedEvent} to the outbox synchronously, inside the transaction that
+ * published it, so the change and its outbox row commit or roll back together.
+ */
+@Component
+public class ProductOutboxRecorder {
+
+    private final ProductChangeRepository changeRepository;
+
+    private final ObjectWriter payloadWriter;
+
+    private final Clock clock;
+
+    @Autowired
+    public ProductOutboxRecorder(ProductChangeRepository changeRepository, ObjectMapper objectMapper) {
+        this(changeRepository, objectMapper, Clock.systemUTC());
+    }
+
+    ProductOutboxRecorder(ProductChangeRepository changeRepository, ObjectMapper objectMapper, Clock clock) {
+        this.changeRepository = changeRepository;
+        this.payloadWriter = objectMapper.writerFor(ProductDto.class);
+        this.clock = clock;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ProductChangedEvent event) {
+        changeRepository.save(ProductChange.builder()
+                .productId(event.productId())
+                .type(event.type())
+                .payload(event.product() == null ? null : toJson(event.product()))
+                .occurredAt(Instant.now(clock))
+                .build());
+    }
+
+    private String toJson(ProductDto product) {
+        try {
+            return payloadWriter.writeValueAsString(product);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Product " + product.getId() + " cannot be serialized", ex);
+        }
+    }
+}
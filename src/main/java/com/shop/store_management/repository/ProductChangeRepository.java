@@ -0,0 +1,45 @@
+package com.shop.store_management.repository;
+
+import com.shop.store_management.model.entities.ProductChange;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    /**
+     * Feed page after {@code since}; rows not sequenced yet are not part of it. Must be consumed
+     * inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ProductChange c WHERE c.seq > :since ORDER BY c.seq")
+    Stream<ProductChange> streamAfter(@Param("since") long since, Limit limit);
+
+    @Query("SELECT c FROM ProductChange c WHERE c.publishedAt IS NULL AND c.seq IS NOT NULL ORDER BY c.seq")
+    List<ProductChange> findUnpublished(Limit limit);
+
+    @Modifying
+    @Query("UPDATE ProductChange c SET c.publishedAt = :publishedAt WHERE c.seq IN :seqs")
+    int markPublished(@Param("seqs") Collection<Long> seqs, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,15 @@
+package com.shop.store_management.repository;
+
+import com.shop.store_management.model.dtos.ProductPatch;
+
+public interface ProductPatchRepository {
+
+    /**
+     * Writes the fields set in {@code patch} and bumps the version in one UPDATE, without loading the
+     * row. When {@code expectedVersion} is not {@code null} the row must still be at that version.
+     *
+     * @return number of rows updated, 0 when the product is missing or the version did not match
+     */
+    int patch(Long id, ProductPatch patch, Long expectedVersion);
+
+}
@@ -0,0 +1,48 @@
+package com.shop.store_management.repository;
+
+import com.shop.store_management.model.dtos.ProductPatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the SET clause from the patched fields only, so an unchanged column is neither sent nor
+ * rewritten. Plain JDBC for the same reason as {@link ProductStockRepositoryImpl}: a JPQL or criteria
+ * bulk UPDATE would drop the whole Product second-level cache region.
+ */
+class ProductPatchRepositoryImpl implements ProductPatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProductPatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int patch(Long id, ProductPatch patch, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE product SET ");
+        List<Object> args = new ArrayList<>();
+        set(sql, args, "product_name", patch.getName());
+        set(sql, args, "price", patch.getPrice());
+        set(sql, args, "description", patch.getDescription());
+        set(sql, args, "stock_quantity", patch.getStockQuantity());
+        set(sql, args, "category", patch.getCategory());
+        sql.append("version = version + 1 WHERE id = ?");
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static void set(StringBuilder sql, List<Object> args, String column, Object value) {
+        if (value != null) {
+            sql.append(column).append(" = ?, ");
+            args.add(value);
+        }
+    }
+}
@@ -1,9 +1,77 @@
 package com.shop.store_management.repository;
 
+import com.shop.store_management.analytics.ProductFigures;
+import com.shop.store_management.config.CacheConfig;
+import com.shop.store_management.model.dtos.CategorySummaryDto;
 import com.shop.store_management.model.entities.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product,Long> {
+public interface ProductRepository extends JpaRepository<Product,Long>, ProductSearchRepository,
+        ProductPatchRepository, ProductStockRepository {
+
+    List<Product> findBy(Sort sort, Limit limit);
+
+    @Query("SELECT p FROM Product p WHERE p.id > :lastId ORDER BY p.id")
+    List<Product> findPageAfterId(@Param("lastId") Long lastId, Limit limit);
+
+    @Query("SELECT p FROM Product p WHERE p.price > :lastPrice OR (p.price = :lastPrice AND p.id > :lastId) "
+            + "ORDER BY p.price, p.id")
+    List<Product> findPageAfterPrice(@Param("lastPrice") BigDecimal lastPrice, @Param("lastId") Long lastId, Limit limit);
+
+    @Query("SELECT p FROM Product p WHERE p.name > :lastName OR (p.name = :lastName AND p.id > :lastId) "
+            + "ORDER BY p.name, p.id")
+    List<Product> findPageAfterName(@Param("lastName") String lastName, @Param("lastId") Long lastId, Limit limit);
+
+    @Query("SELECT p FROM Product p WHERE p.category > :lastCategory OR (p.category = :lastCategory AND p.id > :lastId) "
+            + "ORDER BY p.category, p.id")
+    List<Product> findPageAfterCategory(@Param("lastCategory") String lastCategory, @Param("lastId") Long lastId,
+                                        Limit limit);
+
+    /**
+     * Cursor over the whole catalog in id order. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderById();
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheConfig.PRODUCT_QUERIES_REGION)
+    })
+    @Query("SELECT new com.shop.store_management.model.dtos.CategorySummaryDto(p.category, COUNT(p)) "
+            + "FROM Product p GROUP BY p.category ORDER BY p.category")
+    List<CategorySummaryDto> summarizeCategories();
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.shop.store_management.analytics.ProductFigures(p.id, p.price, p.stockQuantity, p.category, "
+            + "p.version) FROM Product p WHERE p.id IN :ids")
+    List<ProductFigures> findFiguresByIds(@Param("ids") Collection<Long> ids);
 }
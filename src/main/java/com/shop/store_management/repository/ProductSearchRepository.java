@@ -0,0 +1,20 @@
+package com.shop.store_management.repository;
+
+import com.shop.store_management.model.dtos.CategorySummaryDto;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ProductSearchRepository {
+
+    /**
+     * Filters products and projects them straight into DTOs, so no managed entities are created.
+     */
+    Page<ProductDto> search(ProductSearchCriteria criteria, Pageable pageable);
+
+    List<CategorySummaryDto> countByCategory(ProductSearchCriteria criteria);
+
+}
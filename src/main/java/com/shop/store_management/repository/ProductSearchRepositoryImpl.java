@@ -0,0 +1,114 @@
+package com.shop.store_management.repository;
+
+import com.shop.store_management.config.CacheConfig;
+import com.shop.store_management.model.dtos.CategorySummaryDto;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import com.shop.store_management.model.entities.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
+/**
+ * Only the filters that are actually set end up in the WHERE clause, so the planner can use the
+ * (category, price), (price, id) and (product_name, id) indexes instead of OR-ed null checks.
+ * Results go to the query cache, which drops them on any product write.
+ */
+class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductDto> search(ProductSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ProductDto> query = cb.createQuery(ProductDto.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(ProductDto.class,
+                        product.get("id"),
+                        product.get("name"),
+                        product.get("price"),
+                        product.get("description"),
+                        product.get("stockQuantity"),
+                        product.get("category"),
+                        product.get("version")))
+                .where(predicates(criteria, cb, product, true).toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+
+        List<ProductDto> items = cached(entityManager.createQuery(query))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(items, pageable, () -> count(criteria));
+    }
+
+    @Override
+    public List<CategorySummaryDto> countByCategory(ProductSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<CategorySummaryDto> query = cb.createQuery(CategorySummaryDto.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(CategorySummaryDto.class, product.get("category"), cb.count(product)))
+                .where(predicates(criteria, cb, product, false).toArray(Predicate[]::new))
+                .groupBy(product.get("category"))
+                .orderBy(cb.asc(product.get("category")));
+
+        return cached(entityManager.createQuery(query)).getResultList();
+    }
+
+    private long count(ProductSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product))
+                .where(predicates(criteria, cb, product, true).toArray(Predicate[]::new));
+
+        return cached(entityManager.createQuery(query)).getSingleResult();
+    }
+
+    private static <T> TypedQuery<T> cached(TypedQuery<T> query) {
+        return query.setHint(HINT_CACHEABLE, true).setHint(HINT_CACHE_REGION, CacheConfig.PRODUCT_QUERIES_REGION);
+    }
+
+    private static List<Predicate> predicates(ProductSearchCriteria criteria, CriteriaBuilder cb,
+                                              Root<Product> product, boolean filterCategory) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filterCategory && criteria.getCategory() != null) {
+            predicates.add(cb.equal(product.get("category"), criteria.getCategory()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), criteria.getMaxPrice()));
+        }
+        if (criteria.isInStockOnly()) {
+            predicates.add(cb.greaterThan(product.get("stockQuantity"), 0));
+        }
+        if (criteria.getNamePrefix() != null) {
+            predicates.add(cb.like(product.get("name"), escapeLike(criteria.getNamePrefix()) + "%", '\\'));
+        }
+        return predicates;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
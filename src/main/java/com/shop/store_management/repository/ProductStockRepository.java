@@ -0,0 +1,17 @@
+package com.shop.store_management.repository;
+
+/**
+ * Stock deltas as single plain-JDBC statements. A JPQL or native bulk UPDATE would make Hibernate
+ * drop the whole Product second-level cache region on every reservation, so callers evict just the
+ * products they changed instead.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * Conditional decrement in a single statement; returns 0 when the product is missing or has too little stock.
+     */
+    int reserveStock(Long id, int quantity);
+
+    int releaseStock(Long id, int quantity);
+
+}
@@ -0,0 +1,30 @@
+package com.shop.store_management.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String RESERVE_SQL = "UPDATE product SET stock_quantity = stock_quantity - ?, "
+            + "version = version + 1 WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String RELEASE_SQL = "UPDATE product SET stock_quantity = stock_quantity + ?, "
+            + "version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProductStockRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int reserveStock(Long id, int quantity) {
+        return jdbcTemplate.update(RESERVE_SQL, quantity, id, quantity);
+    }
+
+    @Override
+    public int releaseStock(Long id, int quantity) {
+        return jdbcTemplate.update(RELEASE_SQL, quantity, id);
+    }
+}
@@ -0,0 +1,247 @@
+package com.shop.store_management.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term -> posting list index with BM25 ranking.
+ *
+ * <p>Documents get dense int ids in insertion order, so every posting list stays sorted just by
+ * appending. Replacing a document removes its old postings and appends it under a fresh id;
+ * dead ids are squeezed out once they outnumber live ones. Queries walk the posting lists of
+ * all query terms document-at-a-time and keep only the top {@code limit} hits in a small heap,
+ * so a query allocates nothing proportional to the catalog size.
+ */
+final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, Integer> docIdByProductId = new HashMap<>();
+
+    private long[] productIds = new long[INITIAL_CAPACITY];
+
+    private int[] docLengths = new int[INITIAL_CAPACITY];
+
+    private String[][] docTerms = new String[INITIAL_CAPACITY][];
+
+    private int nextDocId;
+
+    private long totalLength;
+
+    /**
+     * Adds the product, replacing whatever was indexed for it before.
+     */
+    void put(long productId, Map<String, Integer> termFrequencies) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            if (termFrequencies.isEmpty()) {
+                return;
+            }
+            ensureCapacity(nextDocId + 1);
+            int docId = nextDocId++;
+            int length = 0;
+            String[] terms = new String[termFrequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).append(docId, entry.getValue());
+                terms[i++] = entry.getKey();
+                length += entry.getValue();
+            }
+            productIds[docId] = productId;
+            docLengths[docId] = length;
+            docTerms[docId] = terms;
+            docIdByProductId.put(productId, docId);
+            totalLength += length;
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByProductId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<SearchHit> search(List<String> queryTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            int documents = docIdByProductId.size();
+            if (documents == 0 || limit <= 0) {
+                return List.of();
+            }
+            List<PostingList> lists = new ArrayList<>();
+            for (String term : queryTerms.stream().distinct().toList()) {
+                PostingList list = postings.get(term);
+                if (list != null && list.size > 0) {
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+
+            double averageLength = (double) totalLength / documents;
+            double[] idf = new double[lists.size()];
+            for (int t = 0; t < idf.length; t++) {
+                int df = lists.get(t).size;
+                idf[t] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            }
+
+            int[] cursors = new int[lists.size()];
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(SearchHit::score));
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int t = 0; t < cursors.length; t++) {
+                    PostingList list = lists.get(t);
+                    if (cursors[t] < list.size) {
+                        doc = Math.min(doc, list.docs[cursors[t]]);
+                    }
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+                double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                double score = 0;
+                for (int t = 0; t < cursors.length; t++) {
+                    PostingList list = lists.get(t);
+                    if (cursors[t] < list.size && list.docs[cursors[t]] == doc) {
+                        int tf = list.frequencies[cursors[t]++];
+                        score += idf[t] * tf * (K1 + 1) / (tf + norm);
+                    }
+                }
+                if (top.size() < limit) {
+                    top.add(new SearchHit(productIds[doc], score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new SearchHit(productIds[doc], score));
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long productId) {
+        Integer docId = docIdByProductId.remove(productId);
+        if (docId == null) {
+            return;
+        }
+        for (String term : docTerms[docId]) {
+            PostingList list = postings.get(term);
+            list.remove(docId);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= docLengths[docId];
+        docTerms[docId] = null;
+    }
+
+    /**
+     * Renumbers live documents densely once dead ids outnumber live ones. Relative order is kept,
+     * so posting lists stay sorted.
+     */
+    private void compactIfSparse() {
+        if (nextDocId <= INITIAL_CAPACITY || nextDocId <= 2 * docIdByProductId.size()) {
+            return;
+        }
+        int[] newIds = new int[nextDocId];
+        int live = 0;
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (docTerms[docId] == null) {
+                newIds[docId] = -1;
+                continue;
+            }
+            newIds[docId] = live;
+            productIds[live] = productIds[docId];
+            docLengths[live] = docLengths[docId];
+            docTerms[live] = docTerms[docId];
+            docIdByProductId.put(productIds[live], live);
+            live++;
+        }
+        Arrays.fill(docTerms, live, nextDocId, null);
+        for (PostingList list : postings.values()) {
+            for (int i = 0; i < list.size; i++) {
+                list.docs[i] = newIds[list.docs[i]];
+            }
+        }
+        nextDocId = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+        docTerms = Arrays.copyOf(docTerms, newCapacity);
+    }
+
+    /**
+     * Doc ids in ascending order with their term frequencies, as two parallel primitive arrays.
+     */
+    private static final class PostingList {
+
+        private int[] docs = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        void append(int docId, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int docId) {
+            int index = Arrays.binarySearch(docs, 0, size, docId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+        }
+    }
+}
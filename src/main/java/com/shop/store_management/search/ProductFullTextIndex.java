@@ -0,0 +1,193 @@
+package com.shop.store_management.search;
+
+import com.shop.store_management.config.FullTextSearchProperties;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Embedded full-text index over product name, description and category. Kept current from
+ * {@link ProductChangedEvent}s after commit and rebuilt from a streaming scan at startup.
+ */
+@Slf4j
+@Component
+public class ProductFullTextIndex {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private static final int NAME_BOOST = 2;
+
+    private final ProductRepository productRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TaskExecutor taskExecutor;
+
+    private final TextAnalyzer analyzer;
+
+    private final Object swapLock = new Object();
+
+    /**
+     * Held for a whole rebuild, so rebuilds run one after another and the last one to finish is the
+     * one that scanned last.
+     */
+    private final Object rebuildLock = new Object();
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    /**
+     * Latest change per product seen while a rebuild is scanning; replayed onto the new index.
+     */
+    private Map<Long, ProductChangedEvent> changesDuringRebuild;
+
+    @Autowired
+    public ProductFullTextIndex(ProductRepository productRepository, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                FullTextSearchProperties properties) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.analyzer = new TextAnalyzer(properties.isStemming());
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>();
+        analyzer.analyze(query, terms::add);
+        return index.search(terms, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case PRICE_CHANGED, STOCK_CHANGED -> {
+                // indexed text is unchanged
+            }
+            default -> {
+                synchronized (swapLock) {
+                    if (changesDuringRebuild != null) {
+                        changesDuringRebuild.put(event.productId(), event);
+                    }
+                    apply(index, event);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Streams the catalog once and analyzes it in parallel chunks. At most two chunks per core
+     * are in flight, so the scan cannot run ahead of the analyzers. Searches keep using the old
+     * index until the new one is complete. A rebuild requested while another runs waits for it.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        long start = System.nanoTime();
+        synchronized (swapLock) {
+            changesDuringRebuild = new HashMap<>();
+        }
+        InvertedIndex fresh = new InvertedIndex();
+        Semaphore inFlight = new Semaphore(2 * Runtime.getRuntime().availableProcessors());
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Product> products = productRepository.streamAllOrderById()) {
+                    List<Product> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+                    products.forEach(product -> {
+                        entityManager.detach(product);
+                        chunk.add(product);
+                        if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                            chunks.add(indexChunk(fresh, List.copyOf(chunk), inFlight));
+                            chunk.clear();
+                        }
+                    });
+                    if (!chunk.isEmpty()) {
+                        chunks.add(indexChunk(fresh, List.copyOf(chunk), inFlight));
+                    }
+                }
+            });
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        } catch (RuntimeException ex) {
+            synchronized (swapLock) {
+                changesDuringRebuild = null;
+            }
+            log.error("Full-text index rebuild failed, keeping the previous index", ex);
+            return;
+        }
+
+        synchronized (swapLock) {
+            changesDuringRebuild.values().forEach(event -> apply(fresh, event));
+            changesDuringRebuild = null;
+            index = fresh;
+        }
+        log.info("Full-text index rebuilt with {} products in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private CompletableFuture<Void> indexChunk(InvertedIndex target, List<Product> chunk, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        return CompletableFuture.runAsync(() -> {
+            for (Product product : chunk) {
+                target.put(product.getId(), termFrequencies(product.getName(), product.getDescription(),
+                        product.getCategory()));
+            }
+        }, ForkJoinPool.commonPool()).whenComplete((ignored, ex) -> inFlight.release());
+    }
+
+    private void apply(InvertedIndex target, ProductChangedEvent event) {
+        ProductDto product = event.product();
+        if (event.type() == ProductChangeType.DELETED) {
+            target.remove(event.productId());
+        } else if (product != null) {
+            target.put(product.getId(), termFrequencies(product.getName(), product.getDescription(),
+                    product.getCategory()));
+        }
+    }
+
+    private Map<String, Integer> termFrequencies(String name, String description, String category) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        analyzer.analyze(name, term -> frequencies.merge(term, NAME_BOOST, Integer::sum));
+        analyzer.analyze(description, term -> frequencies.merge(term, 1, Integer::sum));
+        analyzer.analyze(category, term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+}
@@ -0,0 +1,4 @@
+package com.shop.store_management.search;
+
+public record SearchHit(long productId, double score) {
+}
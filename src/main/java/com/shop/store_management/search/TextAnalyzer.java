@@ -0,0 +1,57 @@
+package com.shop.store_management.search;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into lowercase alphanumeric tokens, optionally reduced with the Harman "S" stemmer,
+ * which only folds plurals ("batteries" -> "battery", "phones" -> "phone") and so never mangles
+ * brand or model names.
+ */
+final class TextAnalyzer {
+
+    private final boolean stemming;
+
+    TextAnalyzer(boolean stemming) {
+        this.stemming = stemming;
+    }
+
+    void analyze(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean letterOrDigit = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                sink.accept(normalize(text.substring(start, i)));
+                start = -1;
+            }
+        }
+    }
+
+    private String normalize(String token) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        return stemming ? stem(lower) : lower;
+    }
+
+    static String stem(String word) {
+        int length = word.length();
+        if (length <= 3 || !word.endsWith("s")) {
+            return word;
+        }
+        if (word.endsWith("ies") && !word.endsWith("eies") && !word.endsWith("aies")) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (word.endsWith("es") && !word.endsWith("aes") && !word.endsWith("ees") && !word.endsWith("oes")) {
+            return word.substring(0, length - 1);
+        }
+        if (!word.endsWith("us") && !word.endsWith("ss")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,122 @@
+package com.shop.store_management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.store_management.config.AuthenticationCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Remembers successful username/password checks so HTTP Basic clients pay for BCrypt once per
+ * {@code ttl} instead of on every request.
+ *
+ * <p>The cache key is an HMAC-SHA256 of the credentials under a random per-process key, so neither
+ * the password nor an offline-crackable hash of it is kept in memory. Only successes are cached;
+ * a wrong password always goes through the delegate and costs a full BCrypt check.
+ *
+ * <p>A hit is only honoured while the user, as the {@link UserDetailsService} has it now, still has
+ * the password hash the credentials were checked against and is enabled and unlocked; otherwise the
+ * entry is evicted and the request verified again. A password change, a removed or locked user
+ * takes effect on the next request, and authorities always come from the current user.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+
+    private final UserDetailsService userDetailsService;
+
+    /**
+     * Digest of the credentials to a digest of the stored password hash they were verified against.
+     */
+    private final Cache<String, String> verified;
+
+    private final SecretKeySpec key;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                         AuthenticationCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "authentication");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        String cacheKey = digest(authentication.getName(), password);
+        String verifiedAgainst = verified.getIfPresent(cacheKey);
+        if (verifiedAgainst != null) {
+            UserDetails current = currentUser(authentication.getName());
+            if (current != null && usable(current)
+                    && verifiedAgainst.equals(digest(current.getUsername(), current.getPassword()))) {
+                UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                        current, null, current.getAuthorities());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+            verified.invalidate(cacheKey);
+        }
+        Authentication result = delegate.authenticate(authentication);
+        // the delegate's principal still carries the hash it checked; credentials are erased later
+        if (result != null && result.isAuthenticated() && result.getPrincipal() instanceof UserDetails user
+                && user.getPassword() != null) {
+            verified.put(cacheKey, digest(user.getUsername(), user.getPassword()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private UserDetails currentUser(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException ex) {
+            return null;
+        }
+    }
+
+    private static boolean usable(UserDetails user) {
+        return user.getPassword() != null && user.isEnabled() && user.isAccountNonLocked()
+                && user.isAccountNonExpired() && user.isCredentialsNonExpired();
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+}
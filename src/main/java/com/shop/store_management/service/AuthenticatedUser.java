@@ -0,0 +1,26 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.exception.UnauthorizedAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+final class AuthenticatedUser {
+
+    private AuthenticatedUser() {
+    }
+
+    static String username() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            throw new UnauthorizedAccessException("User is not authenticated");
+        }
+
+        Object principal = auth.getPrincipal();
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getUsername();
+        }
+
+        return principal.toString();
+    }
+}
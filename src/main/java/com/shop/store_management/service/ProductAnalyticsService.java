@@ -0,0 +1,146 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.analytics.CatalogSnapshot;
+import com.shop.store_management.analytics.CategoryTotals;
+import com.shop.store_management.analytics.ColumnarCatalog;
+import com.shop.store_management.analytics.PriceDistribution;
+import com.shop.store_management.config.AnalyticsProperties;
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.dtos.InventoryStatsDto;
+import com.shop.store_management.model.dtos.InventorySummaryDto;
+import com.shop.store_management.model.dtos.LowStockItemDto;
+import com.shop.store_management.model.dtos.PriceDistributionDto;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inventory and price aggregates answered from the in-memory {@link CatalogSnapshot} instead of the
+ * database, so they cost a scan over primitive arrays rather than loading every product.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ProductAnalyticsService {
+
+    private final CatalogSnapshot snapshot;
+
+    private final AnalyticsProperties properties;
+
+    @Autowired
+    public ProductAnalyticsService(CatalogSnapshot snapshot, AnalyticsProperties properties) {
+        this.snapshot = snapshot;
+        this.properties = properties;
+    }
+
+    public InventorySummaryDto getInventorySummary() {
+        log.debug("Aggregating inventory over {} products", snapshot.size());
+        List<CategoryTotals> categories = snapshot.totalsByCategory();
+
+        long products = 0;
+        long stockUnits = 0;
+        long priceSum = 0;
+        long inventoryValue = 0;
+        long minPrice = Long.MAX_VALUE;
+        long maxPrice = Long.MIN_VALUE;
+        for (CategoryTotals totals : categories) {
+            products += totals.products();
+            stockUnits += totals.stockUnits();
+            priceSum += totals.priceSum();
+            inventoryValue += totals.inventoryValue();
+            minPrice = Math.min(minPrice, totals.minPrice());
+            maxPrice = Math.max(maxPrice, totals.maxPrice());
+        }
+
+        return InventorySummaryDto.builder()
+                .total(stats(null, products, stockUnits, priceSum, inventoryValue, minPrice, maxPrice))
+                .categories(categories.stream()
+                        .map(totals -> stats(totals.category(), totals.products(), totals.stockUnits(),
+                                totals.priceSum(), totals.inventoryValue(), totals.minPrice(), totals.maxPrice()))
+                        .toList())
+                .build();
+    }
+
+    public PriceDistributionDto getPriceDistribution(String category, List<Double> percentiles) {
+        List<Double> requested = percentiles == null || percentiles.isEmpty()
+                ? properties.getDefaultPercentiles() : percentiles;
+        double[] values = new double[requested.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double percentile = requested.get(i);
+            if (percentile == null || percentile <= 0 || percentile > 100) {
+                throw new ValidationException("Percentiles must be greater than 0 and at most 100");
+            }
+            values[i] = percentile;
+        }
+        log.debug("Price distribution for category '{}' at percentiles {}", category, requested);
+
+        PriceDistribution distribution = snapshot.priceDistribution(category, values);
+        Map<String, BigDecimal> byPercentile = new LinkedHashMap<>();
+        if (distribution.products() > 0) {
+            for (int i = 0; i < values.length; i++) {
+                byPercentile.put("p" + BigDecimal.valueOf(values[i]).stripTrailingZeros().toPlainString(),
+                        money(distribution.percentiles()[i]));
+            }
+        }
+        return PriceDistributionDto.builder()
+                .category(category)
+                .productCount(distribution.products())
+                .averagePrice(average(distribution.priceSum(), distribution.products()))
+                .minPrice(distribution.products() > 0 ? money(distribution.minPrice()) : null)
+                .maxPrice(distribution.products() > 0 ? money(distribution.maxPrice()) : null)
+                .percentiles(byPercentile)
+                .build();
+    }
+
+    public List<LowStockItemDto> getLowStock(Integer threshold, Integer limit) {
+        if (threshold != null && threshold < 0) {
+            throw new ValidationException("Threshold must not be negative");
+        }
+        if (limit != null && limit < 1) {
+            throw new ValidationException("Limit must be positive");
+        }
+        int below = threshold == null ? properties.getLowStockThreshold() : threshold;
+        int maxResults = limit == null ? properties.getDefaultResults() : Math.min(limit, properties.getMaxResults());
+        log.debug("Listing up to {} products with stock below {}", maxResults, below);
+
+        return snapshot.stockBelow(below, maxResults).stream()
+                .map(level -> LowStockItemDto.builder()
+                        .id(level.productId())
+                        .category(level.category())
+                        .stockQuantity(level.stockQuantity())
+                        .build())
+                .toList();
+    }
+
+    private static InventoryStatsDto stats(String category, long products, long stockUnits, long priceSum,
+                                           long inventoryValue, long minPrice, long maxPrice) {
+        return InventoryStatsDto.builder()
+                .category(category)
+                .productCount(products)
+                .stockUnits(stockUnits)
+                .inventoryValue(money(inventoryValue))
+                .averagePrice(average(priceSum, products))
+                .minPrice(products > 0 ? money(minPrice) : null)
+                .maxPrice(products > 0 ? money(maxPrice) : null)
+                .build();
+    }
+
+    private static BigDecimal average(long sum, long count) {
+        if (count == 0) {
+            return null;
+        }
+        return money(sum).divide(BigDecimal.valueOf(count), ColumnarCatalog.PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal money(long scaled) {
+        return BigDecimal.valueOf(scaled, ColumnarCatalog.PRICE_SCALE);
+    }
+}
@@ -0,0 +1,251 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.config.ProductBatchProperties;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.mapper.ProductMapper;
+import com.shop.store_management.model.dtos.BatchItemResult;
+import com.shop.store_management.model.dtos.BatchItemStatus;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/update/delete. Items are written in chunks, one transaction per chunk, so Hibernate can
+ * group the statements into JDBC batches. A chunk that fails is replayed item by item so that one bad
+ * row only fails itself.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ProductBatchService {
+
+    private final ProductRepository productRepository;
+
+    private final ProductMapper productMapper;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final ProductBatchProperties batchProperties;
+
+    private final ProductCacheInvalidator cacheInvalidator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductWriteBuffer writeBuffer;
+
+    @Autowired
+    public ProductBatchService(ProductRepository productRepository, ProductMapper productMapper,
+                               EntityManager entityManager, TransactionTemplate transactionTemplate,
+                               Validator validator, ProductBatchProperties batchProperties,
+                               ProductCacheInvalidator cacheInvalidator,
+                               ApplicationEventPublisher eventPublisher, ProductWriteBuffer writeBuffer) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.writeBuffer = writeBuffer;
+    }
+
+    public List<BatchItemResult> createProducts(List<ProductDto> productDtos) {
+        String username = AuthenticatedUser.username();
+        checkBatchSize(productDtos);
+        log.info("User '{}' is creating {} products in batch", username, productDtos.size());
+
+        BatchItemResult[] results = new BatchItemResult[productDtos.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < productDtos.size(); i++) {
+            String violations = validate(productDtos.get(i));
+            if (violations != null) {
+                results[i] = result(i, null, BatchItemStatus.INVALID, violations);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        writeInChunks(valid, chunk -> {
+            List<Product> created = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                Product product = productMapper.toEntity(productDtos.get(index));
+                product.setId(null);
+                entityManager.persist(product);
+                created.add(product);
+                results[index] = result(index, product.getId(), BatchItemStatus.CREATED, null);
+            }
+            publish(ProductChangeType.CREATED, created);
+            cacheInvalidator.evictCategories();
+        }, productDtos, results);
+
+        log.debug("Batch create finished for {} products", productDtos.size());
+        return Arrays.asList(results);
+    }
+
+    public List<BatchItemResult> updateProducts(List<ProductDto> productDtos) {
+        String username = AuthenticatedUser.username();
+        checkBatchSize(productDtos);
+        log.info("User '{}' is updating {} products in batch", username, productDtos.size());
+
+        BatchItemResult[] results = new BatchItemResult[productDtos.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < productDtos.size(); i++) {
+            ProductDto dto = productDtos.get(i);
+            String violations = dto.getId() == null ? "id is required" : validate(dto);
+            if (violations != null) {
+                results[i] = result(i, dto.getId(), BatchItemStatus.INVALID, violations);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        writeBuffer.flushPending(valid.stream().map(index -> productDtos.get(index).getId()).toList());
+        writeInChunks(valid, chunk -> {
+            Set<Long> ids = chunk.stream().map(index -> productDtos.get(index).getId()).collect(Collectors.toSet());
+            Map<Long, Product> existing = productRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            for (int index : chunk) {
+                ProductDto dto = productDtos.get(index);
+                Product product = existing.get(dto.getId());
+                if (product == null) {
+                    results[index] = result(index, dto.getId(), BatchItemStatus.NOT_FOUND, "Product not found");
+                    continue;
+                }
+                product.setName(dto.getName());
+                product.setDescription(dto.getDescription());
+                product.setPrice(dto.getPrice());
+                product.setStockQuantity(dto.getStockQuantity());
+                product.setCategory(dto.getCategory());
+                results[index] = result(index, dto.getId(), BatchItemStatus.UPDATED, null);
+            }
+            publish(ProductChangeType.UPDATED, existing.values());
+            cacheInvalidator.evictProducts(existing.keySet());
+            cacheInvalidator.evictCategories();
+        }, productDtos, results);
+
+        log.debug("Batch update finished for {} products", productDtos.size());
+        return Arrays.asList(results);
+    }
+
+    public List<BatchItemResult> deleteProducts(List<Long> ids) {
+        String username = AuthenticatedUser.username();
+        checkBatchSize(ids);
+        log.info("User '{}' is deleting {} products in batch", username, ids.size());
+
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = result(i, null, BatchItemStatus.INVALID, "id is required");
+            } else {
+                valid.add(i);
+            }
+        }
+
+        writeBuffer.flushPending(valid.stream().map(ids::get).toList());
+        writeInChunks(valid, chunk -> {
+            Set<Long> existing = new HashSet<>(productRepository.findExistingIds(
+                    chunk.stream().map(ids::get).collect(Collectors.toSet())));
+            productRepository.deleteAllByIdInBatch(existing);
+            existing.forEach(id -> eventPublisher.publishEvent(ProductChangedEvent.deleted(id)));
+            cacheInvalidator.evictProducts(existing);
+            cacheInvalidator.evictCategories();
+            for (int index : chunk) {
+                Long id = ids.get(index);
+                results[index] = existing.contains(id)
+                        ? result(index, id, BatchItemStatus.DELETED, null)
+                        : result(index, id, BatchItemStatus.NOT_FOUND, "Product not found");
+            }
+        }, ids, results);
+
+        log.debug("Batch delete finished for {} products", ids.size());
+        return Arrays.asList(results);
+    }
+
+    private void writeInChunks(List<Integer> indexes, Consumer<List<Integer>> writer,
+                               List<?> items, BatchItemResult[] results) {
+        int chunkSize = batchProperties.getChunkSize();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            writeChunk(indexes.subList(from, Math.min(from + chunkSize, indexes.size())), writer, items, results);
+        }
+    }
+
+    private void writeChunk(List<Integer> chunk, Consumer<List<Integer>> writer,
+                            List<?> items, BatchItemResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writer.accept(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException ex) {
+            if (chunk.size() == 1) {
+                int index = chunk.get(0);
+                Object item = items.get(index);
+                Long id = item instanceof ProductDto dto ? dto.getId() : (Long) item;
+                results[index] = result(index, id, BatchItemStatus.FAILED, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                return;
+            }
+            log.warn("Batch chunk of {} items failed, retrying one by one: {}", chunk.size(), ex.getMessage());
+            chunk.forEach(index -> writeChunk(List.of(index), writer, items, results));
+        }
+    }
+
+    /**
+     * Flushes first so the published snapshots carry the versions that were actually written.
+     */
+    private void publish(ProductChangeType type, Collection<Product> products) {
+        entityManager.flush();
+        products.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.of(type, productMapper.toDto(product))));
+    }
+
+    private String validate(ProductDto dto) {
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Batch must contain at least one item");
+        }
+        if (items.size() > batchProperties.getMaxItems()) {
+            throw new ValidationException("Batch must contain at most " + batchProperties.getMaxItems() + " items");
+        }
+    }
+
+    private static BatchItemResult result(int index, Long id, BatchItemStatus status, String error) {
+        return BatchItemResult.builder().index(index).id(id).status(status).error(error).build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.CacheConfig;
+import com.shop.store_management.model.entities.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Evicts product cache entries for writes that touch many products at once, where a
+ * {@code @CacheEvict} key cannot be expressed. Inside a transaction the eviction is deferred
+ * until after commit, like the annotation-driven evictions.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ProductCacheInvalidator(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictProducts(Collection<Long> ids) {
+        Cache cache = cache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * For writes that bypass Hibernate (plain JDBC), which therefore cannot keep its second-level
+     * cache current: drops the products and all cached product query results, after commit when
+     * called inside a transaction.
+     */
+    public void evictPersistenceCache(Collection<Long> ids) {
+        Runnable eviction = () -> {
+            jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+            ids.forEach(id -> cache.evict(Product.class, id));
+            cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    public void evictCategories() {
+        Cache cache = cache(CacheConfig.PRODUCT_CATEGORIES);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache == null ? null : new TransactionAwareCacheDecorator(cache);
+    }
+}
@@ -0,0 +1,92 @@
+package com.shop.store_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.config.OutboxProperties;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.mapper.ProductChangeMapper;
+import com.shop.store_management.model.dtos.ProductChangeDto;
+import com.shop.store_management.model.entities.ProductChange;
+import com.shop.store_management.repository.ProductChangeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Serves the outbox as an incremental NDJSON feed, so consumers fetch only what changed since the
+ * last sequence number they saw instead of re-reading the catalog.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ProductChangeFeedService {
+
+    private final ProductChangeRepository changeRepository;
+
+    private final ProductChangeMapper changeMapper;
+
+    private final EntityManager entityManager;
+
+    private final OutboxProperties properties;
+
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public ProductChangeFeedService(ProductChangeRepository changeRepository, ProductChangeMapper changeMapper,
+                                    EntityManager entityManager, OutboxProperties properties,
+                                    ObjectMapper objectMapper) {
+        this.changeRepository = changeRepository;
+        this.changeMapper = changeMapper;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.rowWriter = objectMapper.writerFor(ProductChangeDto.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Fails fast on bad arguments, before the response is committed to streaming.
+     */
+    public int resolveLimit(long since, Integer limit) {
+        if (since < 0) {
+            throw new ValidationException("since must not be negative");
+        }
+        if (limit == null) {
+            return properties.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new ValidationException("Limit must be positive");
+        }
+        return Math.min(limit, properties.getMaxLimit());
+    }
+
+    @Transactional(readOnly = true)
+    public long streamChanges(long since, int limit, OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<ProductChange> changes = changeRepository.streamAfter(since, Limit.of(limit));
+             JsonGenerator generator = rowWriter.createGenerator(out)) {
+            Iterator<ProductChange> iterator = changes.iterator();
+            while (iterator.hasNext()) {
+                ProductChange change = iterator.next();
+                rowWriter.writeValue(generator, changeMapper.toDto(change));
+                generator.writeRaw('\n');
+                entityManager.detach(change);
+                rows++;
+            }
+        }
+        log.debug("Streamed {} product changes after seq {}", rows, since);
+        return rows;
+    }
+}
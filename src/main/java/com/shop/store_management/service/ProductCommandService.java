@@ -0,0 +1,124 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPatch;
+import com.shop.store_management.model.dtos.StockReservationItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Entry point for writes to single products. Deliberately not transactional: each write first
+ * flushes what the {@link ProductWriteBuffer} holds for the products it touches, which must happen
+ * before the write's own transaction starts, and only then calls the transactional
+ * {@link ProductService} or {@link StockReservationService} method. Callers write through here
+ * rather than through those services so that no write can be overwritten by an older buffered one.
+ */
+@Slf4j
+@Service
+public class ProductCommandService {
+
+    private final ProductService productService;
+
+    private final StockReservationService stockReservationService;
+
+    private final ProductWriteBuffer writeBuffer;
+
+    @Autowired
+    public ProductCommandService(ProductService productService, StockReservationService stockReservationService,
+                                 ProductWriteBuffer writeBuffer) {
+        this.productService = productService;
+        this.stockReservationService = stockReservationService;
+        this.writeBuffer = writeBuffer;
+    }
+
+    /**
+     * Whether unconditional price and stock changes are buffered instead of written through.
+     */
+    public boolean isBuffering() {
+        return writeBuffer.isEnabled();
+    }
+
+    public void bufferPrice(Long id, BigDecimal newPrice) {
+        writeBuffer.changePrice(id, newPrice);
+        log.debug("Price change for product ID {} buffered: {}", id, newPrice);
+    }
+
+    public void bufferStockQuantity(Long id, int newQuantity) {
+        writeBuffer.changeStockQuantity(id, newQuantity);
+        log.debug("Stock change for product ID {} buffered: {}", id, newQuantity);
+    }
+
+    public ProductDto createProduct(ProductDto productDto) {
+        return productService.createProduct(productDto);
+    }
+
+    public ProductDto updateProduct(Long id, ProductDto productDto, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        return productService.updateProduct(id, productDto, expectedVersion);
+    }
+
+    public ProductDto patchProduct(Long id, ProductPatch patch, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        return productService.patchProduct(id, patch, expectedVersion);
+    }
+
+    public Long patchProductInPlace(Long id, ProductPatch patch, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        return productService.patchProductInPlace(id, patch, expectedVersion);
+    }
+
+    public ProductDto changePrice(Long id, BigDecimal newPrice, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        return productService.changePrice(id, newPrice, expectedVersion);
+    }
+
+    public ProductDto changeStockQuantity(Long id, int newQuantity, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        return productService.changeStockQuantity(id, newQuantity, expectedVersion);
+    }
+
+    public ProductDto changeCategory(Long id, String newCategory, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        return productService.changeCategory(id, newCategory, expectedVersion);
+    }
+
+    public void deleteProduct(Long id, Long expectedVersion) {
+        writeBuffer.flushPending(id);
+        productService.deleteProduct(id, expectedVersion);
+    }
+
+    /**
+     * Deltas apply to the stored quantity, so a buffered absolute one must land first.
+     */
+    public void reserve(Long id, int quantity) {
+        writeBuffer.flushPending(id);
+        stockReservationService.reserve(id, quantity);
+    }
+
+    public void release(Long id, int quantity) {
+        writeBuffer.flushPending(id);
+        stockReservationService.release(id, quantity);
+    }
+
+    public void reserveAll(List<StockReservationItem> items) {
+        writeBuffer.flushPending(productIds(items));
+        stockReservationService.reserveAll(items);
+    }
+
+    public void releaseAll(List<StockReservationItem> items) {
+        writeBuffer.flushPending(productIds(items));
+        stockReservationService.releaseAll(items);
+    }
+
+    private static List<Long> productIds(List<StockReservationItem> items) {
+        if (items == null) {
+            return List.of();
+        }
+        return items.stream().map(StockReservationItem::getProductId).filter(Objects::nonNull).toList();
+    }
+}
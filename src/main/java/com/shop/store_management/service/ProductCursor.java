@@ -0,0 +1,61 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.entities.Product;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page: the value of the sort column plus the id tie-breaker, or just
+ * the id when sorting by id. Encoded as URL-safe Base64 so clients treat it as opaque.
+ */
+record ProductCursor(ProductSortField sort, long lastId, String lastValue) {
+
+    private static final String SEPARATOR = "|";
+
+    static ProductCursor after(ProductSortField sort, Product last) {
+        String value = switch (sort) {
+            case ID -> null;
+            case PRICE -> last.getPrice().toPlainString();
+            case NAME -> last.getName();
+            case CATEGORY -> last.getCategory();
+        };
+        return new ProductCursor(sort, last.getId(), value);
+    }
+
+    String encode() {
+        String raw = sort.getParam() + SEPARATOR + lastId + (lastValue == null ? "" : SEPARATOR + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length < 2) {
+                throw new ValidationException("Malformed cursor");
+            }
+            ProductSortField sort = ProductSortField.fromParam(parts[0]);
+            if (sort == ProductSortField.ID) {
+                return new ProductCursor(sort, Long.parseLong(parts[1]), null);
+            }
+            if (parts.length != 3) {
+                throw new ValidationException("Malformed cursor");
+            }
+            return new ProductCursor(sort, Long.parseLong(parts[1]), parts[2]);
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Malformed cursor");
+        }
+    }
+
+    BigDecimal lastPrice() {
+        try {
+            return new BigDecimal(lastValue);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.shop.store_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.mapper.ProductJsonSerializer;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the full catalog as NDJSON straight from a JDBC cursor, one row at a time,
+ * so memory use does not depend on the number of products.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ProductExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final ProductJsonSerializer productSerializer;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ProductExportService(ProductRepository productRepository, ProductJsonSerializer productSerializer,
+                                EntityManager entityManager, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.productSerializer = productSerializer;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Product> products = productRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out).setRootValueSeparator(null)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                productSerializer.write(product, generator);
+                generator.writeRaw('\n');
+                // nothing is read back, so rows must not pile up in the persistence context
+                entityManager.detach(product);
+                if (++rows == 1 || rows % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.debug("Exported {} products", rows);
+        return rows;
+    }
+}
@@ -0,0 +1,205 @@
+package com.shop.store_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.shop.store_management.config.ImportProperties;
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.exception.StoreException;
+import com.shop.store_management.importer.ChunkResult;
+import com.shop.store_management.importer.ImportFormat;
+import com.shop.store_management.importer.ImportJob;
+import com.shop.store_management.importer.LineChunk;
+import com.shop.store_management.importer.MappedLineReader;
+import com.shop.store_management.importer.ParsedChunk;
+import com.shop.store_management.importer.ProductRowParser;
+import com.shop.store_management.importer.ProductUpsertWriter;
+import com.shop.store_management.model.dtos.ImportJobDto;
+import com.shop.store_management.model.dtos.ProductDto;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk catalog import from CSV or NDJSON files. Each job is a three-stage pipeline: the job thread
+ * cuts the memory-mapped file into line chunks, a parser pool parses and validates chunks in
+ * parallel, and the job thread writes the parsed chunks in file order through
+ * {@link ProductUpsertWriter}. At most {@code max-chunks-in-flight} chunks are read ahead of the
+ * writer, so a slow database holds the reader back instead of filling the heap. Jobs run one at a
+ * time; later ones wait in the queue.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class ProductImportService {
+
+    private final ProductUpsertWriter upsertWriter;
+
+    private final ObjectReader productReader;
+
+    private final Validator validator;
+
+    private final ImportProperties properties;
+
+    private final Clock clock;
+
+    private final ExecutorService jobExecutor;
+
+    private final ExecutorService parserPool;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductImportService(ProductUpsertWriter upsertWriter, ObjectMapper objectMapper, Validator validator,
+                                ImportProperties properties) {
+        this.upsertWriter = upsertWriter;
+        this.productReader = objectMapper.readerFor(ProductDto.class);
+        this.validator = validator;
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("product-import-"));
+        int parserThreads = properties.getParserThreads() > 0
+                ? properties.getParserThreads() : Runtime.getRuntime().availableProcessors();
+        this.parserPool = Executors.newFixedThreadPool(parserThreads, new CustomizableThreadFactory("product-import-parser-"));
+    }
+
+    /**
+     * Spools the request body to a temporary file, which the job maps and deletes when done.
+     */
+    public ImportJobDto importUpload(InputStream body, MediaType contentType, String source) throws IOException {
+        ImportFormat format = ImportFormat.of(contentType);
+        Path spooled = Files.createTempFile("product-import-", "." + format.name().toLowerCase());
+        try {
+            long bytes = Files.copy(body, spooled, StandardCopyOption.REPLACE_EXISTING);
+            log.info("User '{}' uploaded {} bytes of {} for import", AuthenticatedUser.username(), bytes, format);
+        } catch (IOException ex) {
+            Files.deleteIfExists(spooled);
+            throw ex;
+        }
+        return submit(spooled, format, source == null ? "upload" : source, true);
+    }
+
+    /**
+     * Imports a file the server can read, given relative to {@code store.products.import.directory}.
+     */
+    public ImportJobDto importFile(String path) {
+        Path root = properties.getDirectory().toAbsolutePath().normalize();
+        Path file = root.resolve(path).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Import file not found: " + path);
+        }
+        ImportFormat format = ImportFormat.of(file.getFileName().toString());
+        log.info("User '{}' is importing {} file {}", AuthenticatedUser.username(), format, file);
+        return submit(file, format, path, false);
+    }
+
+    public ImportJobDto getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found for id " + jobId);
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        parserPool.shutdownNow();
+    }
+
+    private ImportJobDto submit(Path file, ImportFormat format, String source, boolean deleteWhenDone) {
+        Instant expired = Instant.now(clock).minus(properties.getRetention());
+        jobs.values().removeIf(job -> job.finishedBefore(expired));
+
+        ImportJob job = new ImportJob(source, format, properties.getMaxReportedErrors(), clock);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> {
+            try {
+                run(job, file, format);
+            } finally {
+                if (deleteWhenDone) {
+                    deleteQuietly(file);
+                }
+            }
+        });
+        log.debug("Import job {} queued for {}", job.getId(), source);
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Path file, ImportFormat format) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedLineReader reader = new MappedLineReader(channel, properties.getChunkSize());
+            job.start(reader.size());
+            Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+            ProductRowParser parser = null;
+            LineChunk chunk;
+            while ((chunk = reader.next()) != null) {
+                if (parser == null) {
+                    parser = format == ImportFormat.CSV
+                            ? ProductRowParser.csv(chunk.firstLineText(), validator)
+                            : ProductRowParser.ndjson(productReader, validator);
+                }
+                if (inFlight.size() >= properties.getMaxChunksInFlight()) {
+                    write(job, inFlight.poll());
+                }
+                ProductRowParser chunkParser = parser;
+                LineChunk parsing = chunk;
+                inFlight.add(parserPool.submit(() -> chunkParser.parse(parsing)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(job, inFlight.poll());
+            }
+            job.complete();
+            ImportJobDto result = job.toDto();
+            log.info("Import job {} finished in {} ms: {} created, {} updated, {} failed", job.getId(),
+                    (System.nanoTime() - start) / 1_000_000, result.getCreated(), result.getUpdated(), result.getFailed());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.fail("Import was interrupted");
+        } catch (StoreException | IOException ex) {
+            log.warn("Import job {} failed: {}", job.getId(), ex.getMessage());
+            job.fail(ex.getMessage());
+        } catch (ExecutionException | RuntimeException ex) {
+            log.error("Import job {} failed", job.getId(), ex);
+            job.fail("Import failed: " + ex.getMessage());
+        }
+    }
+
+    private void write(ImportJob job, Future<ParsedChunk> parsing) throws InterruptedException, ExecutionException {
+        ParsedChunk parsed = parsing.get();
+        ChunkResult result = upsertWriter.write(parsed.rows());
+        job.record(parsed, result);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled import file {}: {}", file, ex.getMessage());
+        }
+    }
+}
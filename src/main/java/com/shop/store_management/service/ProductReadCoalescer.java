@@ -0,0 +1,184 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.ReadCoalescingProperties;
+import com.shop.store_management.config.ReplicaRoutingDataSource;
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPage;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import com.shop.store_management.model.dtos.ProductSearchResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request coalescing in front of the {@link ProductService} reads the product endpoints serve.
+ * Concurrent identical reads (same id, same page, same search) share one call and its result, so a
+ * burst of requests for a few hot products costs one lookup per product rather than one per request.
+ *
+ * <p>With a {@code batch-window}, lookups by id also wait that long for lookups of other ids and
+ * are answered together by {@link ProductService#getProductsByIds}, one query for the whole batch.
+ *
+ * <p>A read that joins a running one gets that one's result, which may have been read just before
+ * a concurrent write committed; a read never waits on anything that started after it. Lookups by
+ * id always read the primary; pages and searches are shared only between reads routed to the same
+ * place, so a client reading its own writes from the primary never gets a replica's result.
+ */
+@Slf4j
+@Service
+public class ProductReadCoalescer {
+
+    private final ProductService productService;
+
+    private final ReadCoalescingProperties properties;
+
+    private final SingleFlight<Long, ProductDto> byId;
+
+    private final SingleFlight<PageKey, ProductPage> pages;
+
+    private final SingleFlight<SearchKey, ProductSearchResult> searches;
+
+    private final DistributionSummary batchSizes;
+
+    private final ScheduledExecutorService batchScheduler;
+
+    private final Object batchLock = new Object();
+
+    private Map<Long, CompletableFuture<ProductDto>> batch = new LinkedHashMap<>();
+
+    @Autowired
+    public ProductReadCoalescer(ProductService productService, ReadCoalescingProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.properties = properties;
+        this.byId = new SingleFlight<>("by_id", meterRegistry);
+        this.pages = new SingleFlight<>("page", meterRegistry);
+        this.searches = new SingleFlight<>("search", meterRegistry);
+        this.batchSizes = DistributionSummary.builder("store.products.coalescing.batch_size")
+                .description("Distinct product ids loaded by one batched lookup")
+                .register(meterRegistry);
+        this.batchScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("product-read-batch-"));
+    }
+
+    public ProductDto getProductById(Long id) {
+        if (!properties.isEnabled()) {
+            return productService.getProductById(id);
+        }
+        return byId.execute(id, () -> batching()
+                ? SingleFlight.await(enqueue(id))
+                : productService.getProductById(id));
+    }
+
+    public ProductPage getAllProducts(String cursor, Integer size, ProductSortField sort) {
+        if (!properties.isEnabled()) {
+            return productService.getAllProducts(cursor, size, sort);
+        }
+        boolean primary = ReplicaRoutingDataSource.readsFromPrimary();
+        ProductPage page = pages.execute(new PageKey(cursor, size, sort, primary),
+                () -> productService.getAllProducts(cursor, size, sort));
+        // the controller sets the next link on its page, so callers must not share the instance
+        return ProductPage.builder()
+                .items(page.getItems())
+                .size(page.getSize())
+                .sort(page.getSort())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public ProductSearchResult searchProducts(ProductSearchCriteria criteria, int page, Integer size,
+                                              ProductSortField sort) {
+        if (!properties.isEnabled()) {
+            return productService.searchProducts(criteria, page, size, sort);
+        }
+        boolean primary = ReplicaRoutingDataSource.readsFromPrimary();
+        return searches.execute(new SearchKey(criteria, page, size, sort, primary),
+                () -> productService.searchProducts(criteria, page, size, sort));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchScheduler.shutdownNow();
+        synchronized (batchLock) {
+            batch.values().forEach(waiting -> waiting.completeExceptionally(
+                    new IllegalStateException("Product lookups are shutting down")));
+            batch = new LinkedHashMap<>();
+        }
+    }
+
+    private boolean batching() {
+        return !properties.getBatchWindow().isZero() && !properties.getBatchWindow().isNegative();
+    }
+
+    private CompletableFuture<ProductDto> enqueue(Long id) {
+        CompletableFuture<ProductDto> lookup;
+        Map<Long, CompletableFuture<ProductDto>> full = null;
+        synchronized (batchLock) {
+            if (batch.isEmpty()) {
+                batchScheduler.schedule(this::loadBatch, properties.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            lookup = batch.computeIfAbsent(id, ignored -> new CompletableFuture<>());
+            if (batch.size() >= properties.getMaxBatchSize()) {
+                full = takeBatch();
+            }
+        }
+        if (full != null) {
+            load(full);
+        }
+        return lookup;
+    }
+
+    private void loadBatch() {
+        Map<Long, CompletableFuture<ProductDto>> due;
+        synchronized (batchLock) {
+            due = takeBatch();
+        }
+        if (!due.isEmpty()) {
+            load(due);
+        }
+    }
+
+    private Map<Long, CompletableFuture<ProductDto>> takeBatch() {
+        Map<Long, CompletableFuture<ProductDto>> taken = batch;
+        batch = new LinkedHashMap<>();
+        return taken;
+    }
+
+    private void load(Map<Long, CompletableFuture<ProductDto>> lookups) {
+        batchSizes.record(lookups.size());
+        log.debug("Loading a batch of {} products", lookups.size());
+        try {
+            Map<Long, ProductDto> found = productService.getProductsByIds(lookups.keySet());
+            lookups.forEach((id, lookup) -> {
+                ProductDto product = found.get(id);
+                if (product != null) {
+                    lookup.complete(product);
+                } else {
+                    lookup.completeExceptionally(new ResourceNotFoundException("Product not found for id " + id));
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Batched lookup of {} products failed: {}", lookups.size(), ex.getMessage());
+            lookups.values().forEach(lookup -> lookup.completeExceptionally(ex));
+        }
+    }
+
+    private record PageKey(String cursor, Integer size, ProductSortField sort, boolean primary) {
+    }
+
+    private record SearchKey(ProductSearchCriteria criteria, int page, Integer size, ProductSortField sort,
+                             boolean primary) {
+    }
+}
@@ -1,24 +1,60 @@
 package com.shop.store_management.service;
 
+import com.shop.store_management.exception.PreconditionFailedException;
 import com.shop.store_management.exception.ResourceNotFoundException;
-import com.shop.store_management.exception.UnauthorizedAccessException;
+import com.shop.store_management.config.CacheConfig;
+import com.shop.store_management.config.FullTextSearchProperties;
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.config.ProductPagingProperties;
+import com.shop.store_management.config.ReplicaRoutingDataSource;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.exception.ValidationException;
 import com.shop.store_management.mapper.ProductMapper;
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.CategorySummaryDto;
+import com.shop.store_management.model.dtos.FullTextSearchHit;
 import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPage;
+import com.shop.store_management.model.dtos.ProductPatch;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import com.shop.store_management.model.dtos.ProductSearchResult;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.search.ProductFullTextIndex;
+import com.shop.store_management.search.SearchHit;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.shop.store_management.repository.ProductRepository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class ProductService {
 
 
@@ -26,12 +62,39 @@ public class ProductService {
 
     private final ProductMapper productMapper;
 
+    private final ProductPagingProperties pagingProperties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductFullTextIndex fullTextIndex;
+
+    private final FullTextSearchProperties fullTextProperties;
+
+    private final Validator validator;
+
+    private final CacheManager cacheManager;
+
+    private final ProductCacheInvalidator cacheInvalidator;
+
     @Autowired
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper,
+                          ProductPagingProperties pagingProperties, ApplicationEventPublisher eventPublisher,
+                          ProductFullTextIndex fullTextIndex, FullTextSearchProperties fullTextProperties,
+                          Validator validator, CacheManager cacheManager, ProductCacheInvalidator cacheInvalidator) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.pagingProperties = pagingProperties;
+        this.eventPublisher = eventPublisher;
+        this.fullTextIndex = fullTextIndex;
+        this.fullTextProperties = fullTextProperties;
+        this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_CATEGORIES, allEntries = true))
+    @Transactional
     public ProductDto createProduct(ProductDto productDto) {
         String username = getLoggedUsername();
 
@@ -39,53 +102,200 @@ public class ProductService {
         Product product = productMapper.toEntity(productDto);
         Product saved = productRepository.save(product);
         log.debug("Product saved with ID: {}", saved.getId());
-        return productMapper.toDto(saved);
+        return publish(ProductChangeType.CREATED, productMapper.toDto(saved));
 
     }
 
-    public ProductDto changePrice(Long productId, BigDecimal newPrice) {
+    @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    @Transactional
+    public ProductDto changePrice(Long productId, BigDecimal newPrice, Long expectedVersion) {
         log.info("Changing price for product ID {} to {}", productId, newPrice);
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found for id" + productId));
-        log.warn("Product not found for ID {}", productId);
+        checkVersion(product, expectedVersion);
         product.setPrice(newPrice);
-        Product updated = productRepository.save(product);
+        Product updated = productRepository.saveAndFlush(product);
         log.debug("Price updated for product ID {}: {}", productId, updated.getPrice());
-        return productMapper.toDto(updated);
+        return publish(ProductChangeType.PRICE_CHANGED, productMapper.toDto(updated));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductPage getAllProducts(String cursor, Integer size, ProductSortField sort) {
+        int pageSize = resolvePageSize(size);
+        ProductCursor after = cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor);
+        if (after != null && after.sort() != sort) {
+            throw new ValidationException("Cursor was issued for sort '" + after.sort().getParam() + "'");
+        }
+        log.debug("Fetching products page sorted by {} after cursor {}", sort.getParam(), cursor);
+
+        // one extra row tells us whether a next page exists without a COUNT query
+        List<Product> products = findPage(sort, after, Limit.of(pageSize + 1));
+        boolean hasNext = products.size() > pageSize;
+        if (hasNext) {
+            products = products.subList(0, pageSize);
+        }
+        log.debug("Found {} products, has next page: {}", products.size(), hasNext);
+
+        return ProductPage.builder()
+                .items(products)
+                .size(pageSize)
+                .sort(sort.getParam())
+                .nextCursor(hasNext ? ProductCursor.after(sort, products.get(products.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private List<Product> findPage(ProductSortField sort, ProductCursor after, Limit limit) {
+        if (after == null) {
+            return productRepository.findBy(sort.toSort(), limit);
+        }
+        return switch (sort) {
+            case ID -> productRepository.findPageAfterId(after.lastId(), limit);
+            case PRICE -> productRepository.findPageAfterPrice(after.lastPrice(), after.lastId(), limit);
+            case NAME -> productRepository.findPageAfterName(after.lastValue(), after.lastId(), limit);
+            case CATEGORY -> productRepository.findPageAfterCategory(after.lastValue(), after.lastId(), limit);
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSearchResult searchProducts(ProductSearchCriteria criteria, int page, Integer size,
+                                              ProductSortField sort) {
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new ValidationException("minPrice must not be greater than maxPrice");
+        }
+        if (page < 0) {
+            throw new ValidationException("Page must not be negative");
+        }
+        int pageSize = resolvePageSize(size);
+        log.debug("Searching products with {} (page {}, size {})", criteria, page, pageSize);
+
+        Page<ProductDto> result = productRepository.search(criteria,
+                PageRequest.of(page, pageSize, sort.toSort()));
+        log.debug("Search matched {} products", result.getTotalElements());
+
+        return ProductSearchResult.builder()
+                .items(result.getContent())
+                .page(page)
+                .size(pageSize)
+                .totalElements(result.getTotalElements())
+                .facets(productRepository.countByCategory(criteria))
+                .build();
+    }
+
+    /**
+     * Ranked keyword search over name, description and category, served from the in-memory index.
+     * Only the matching rows are loaded, in one query, and returned in rank order.
+     */
+    @Transactional(readOnly = true)
+    public List<FullTextSearchHit> searchFullText(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Query must not be blank");
+        }
+        if (limit != null && limit < 1) {
+            throw new ValidationException("Limit must be positive");
+        }
+        int maxHits = limit == null ? fullTextProperties.getDefaultResults()
+                : Math.min(limit, fullTextProperties.getMaxResults());
+        log.debug("Full-text search for '{}' (limit {})", query, maxHits);
+
+        List<SearchHit> hits = fullTextIndex.search(query, maxHits);
+        Map<Long, Product> products = productRepository.findAllById(hits.stream().map(SearchHit::productId).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        log.debug("Full-text search matched {} products", hits.size());
+
+        return hits.stream()
+                .filter(hit -> products.containsKey(hit.productId()))
+                .map(hit -> FullTextSearchHit.builder()
+                        .product(productMapper.toDto(products.get(hit.productId())))
+                        .score(hit.score())
+                        .build())
+                .toList();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return pagingProperties.getDefaultSize();
+        }
+        if (size < 1) {
+            throw new ValidationException("Page size must be positive");
+        }
+        return Math.min(size, pagingProperties.getMaxSize());
     }
 
-    public List<ProductDto> getAllProducts() {
-        log.info("Fetching all products");
-        List<Product> products = productRepository.findAll();
-        log.debug("Found {} products", products.size());
-        return productMapper.toDtoList(products);
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_CATEGORIES, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<CategorySummaryDto> getCategories() {
+        log.debug("Fetching category summary");
+        return productRepository.summarizeCategories();
     }
 
+    /**
+     * Read from the primary even with replicas: the result is cached for every client.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional(readOnly = true)
     public ProductDto getProductById(Long id) {
-        log.info("Attempting to retrieve product with ID {}", id);
+        log.debug("Attempting to retrieve product with ID {}", id);
 
-        Product product = productRepository.findById(id)
+        Product product = ReplicaRoutingDataSource.readFromPrimary(() -> productRepository.findById(id))
                 .orElseThrow(() -> {
-                    log.warn("Product not found for ID {}", id);
+                    log.debug("Product not found for ID {}", id);
                     return new ResourceNotFoundException("Product not found for id " + id);
                 });
 
-        log.debug("Product retrieved successfully: {}", product);
+        log.debug("Product ID {} retrieved at version {}", id, product.getVersion());
         return productMapper.toDto(product);
     }
 
-    public ProductDto updateProduct(Long id, ProductDto updatedProductDto) {
+    /**
+     * Several products by id in one query, for batched lookups: products already in the product
+     * cache are taken from it, the others are loaded together from the primary, like
+     * {@link #getProductById}, and added to it. Ids that do not exist are absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ProductDto> getProductsByIds(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Map<Long, ProductDto> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            ProductDto cached = cache == null ? null : cache.get(id, ProductDto.class);
+            if (cached != null) {
+                products.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.debug("Loading {} of {} requested products", missing.size(), ids.size());
+            List<Product> loaded = ReplicaRoutingDataSource.readFromPrimary(() -> productRepository.findAllById(missing));
+            for (Product product : loaded) {
+                ProductDto dto = productMapper.toDto(product);
+                products.put(dto.getId(), dto);
+                if (cache != null) {
+                    cache.put(dto.getId(), dto);
+                }
+            }
+        }
+        return products;
+    }
+
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_CATEGORIES, allEntries = true))
+    @Transactional
+    public ProductDto updateProduct(Long id, ProductDto updatedProductDto, Long expectedVersion) {
         String username = getLoggedUsername();
 
         log.info("User '{}' is attempting to update product with ID {}", username, id);
 
         Product existedProd = productRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.warn("Product not found for ID {}", id);
+                    log.debug("Product not found for ID {}", id);
                     throw new EntityNotFoundException("Product not found");
                 });
 
-        log.debug("Existing product before update: {}", existedProd);
+        log.debug("Product ID {} is at version {} before update", id, existedProd.getVersion());
+        checkVersion(existedProd, expectedVersion);
 
         existedProd.setName(updatedProductDto.getName());
         existedProd.setDescription(updatedProductDto.getDescription());
@@ -93,68 +303,199 @@ public class ProductService {
         existedProd.setStockQuantity(updatedProductDto.getStockQuantity());
         existedProd.setCategory(updatedProductDto.getCategory());
 
-        Product saved = productRepository.save(existedProd);
-        log.debug("Product updated: {}", saved);
-        return productMapper.toDto(saved);
+        Product saved = productRepository.saveAndFlush(existedProd);
+        log.debug("Product ID {} updated to version {}", id, saved.getVersion());
+        return publish(ProductChangeType.UPDATED, productMapper.toDto(saved));
 
     }
 
-    public ProductDto changeStockQuantity(Long id, int newQuantity) {
+    /**
+     * Applies a JSON Merge Patch in one transaction. Only fields whose value actually differs are set,
+     * and {@code @DynamicUpdate} limits the UPDATE to those columns; a patch that changes nothing
+     * writes nothing and keeps the version.
+     */
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_CATEGORIES, allEntries = true,
+                    condition = "#patch.category != null"))
+    @Transactional
+    public ProductDto patchProduct(Long id, ProductPatch patch, Long expectedVersion) {
+        validate(patch);
+        log.info("User '{}' is patching product with ID {}", getLoggedUsername(), id);
+
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.debug("Product not found for ID {}", id);
+                    return new ResourceNotFoundException("Product not found for id " + id);
+                });
+        checkVersion(product, expectedVersion);
+
+        boolean changed = false;
+        if (patch.getName() != null && !patch.getName().equals(product.getName())) {
+            product.setName(patch.getName());
+            changed = true;
+        }
+        if (patch.getPrice() != null && patch.getPrice().compareTo(product.getPrice()) != 0) {
+            product.setPrice(patch.getPrice());
+            changed = true;
+        }
+        if (patch.getDescription() != null && !patch.getDescription().equals(product.getDescription())) {
+            product.setDescription(patch.getDescription());
+            changed = true;
+        }
+        if (patch.getStockQuantity() != null && patch.getStockQuantity() != product.getStockQuantity()) {
+            product.setStockQuantity(patch.getStockQuantity());
+            changed = true;
+        }
+        if (patch.getCategory() != null && !patch.getCategory().equals(product.getCategory())) {
+            product.setCategory(patch.getCategory());
+            changed = true;
+        }
+        if (!changed) {
+            log.debug("Patch leaves product ID {} unchanged at version {}", id, product.getVersion());
+            return productMapper.toDto(product);
+        }
+
+        Product saved = productRepository.saveAndFlush(product);
+        log.debug("Product ID {} patched to version {}", id, saved.getVersion());
+        return publish(changeType(patch), productMapper.toDto(saved));
+    }
+
+    /**
+     * Patches price and/or stock with a single UPDATE and no SELECT, for clients that do not need the
+     * product back. No snapshot is loaded, so the change event carries none; patches touching indexed
+     * text must go through {@link #patchProduct}.
+     *
+     * @return the new version when {@code expectedVersion} was given, otherwise {@code null}
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
+    public Long patchProductInPlace(Long id, ProductPatch patch, Long expectedVersion) {
+        validate(patch);
+        if (patch.isEmpty() || patch.touchesText()) {
+            throw new ValidationException("Only price and stockQuantity can be patched without read-back");
+        }
+        log.info("User '{}' is patching product with ID {} in place", getLoggedUsername(), id);
+
+        if (productRepository.patch(id, patch, expectedVersion) == 0) {
+            Long current = productRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found for id " + id));
+            log.warn("Version mismatch for product ID {}: expected {}, current {}", id, expectedVersion, current);
+            throw new PreconditionFailedException("Product " + id + " was modified, current version is " + current);
+        }
+        cacheInvalidator.evictPersistenceCache(List.of(id));
+        eventPublisher.publishEvent(ProductChangedEvent.changed(changeType(patch), id));
+        log.debug("Product ID {} patched in place", id);
+        return expectedVersion == null ? null : expectedVersion + 1;
+    }
+
+    @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
+    public ProductDto changeStockQuantity(Long id, int newQuantity, Long expectedVersion) {
         log.info("Attempting to change stock quantity for product ID {} to {}", id, newQuantity);
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.warn("Product not found for ID {}", id);
+                    log.debug("Product not found for ID {}", id);
                     return new ResourceNotFoundException("Product not found for id " + id);
                 });
 
+        checkVersion(product, expectedVersion);
         int oldQuantity = product.getStockQuantity();
         product.setStockQuantity(newQuantity);
-        Product updated = productRepository.save(product);
+        Product updated = productRepository.saveAndFlush(product);
 
         log.debug("Stock quantity changed for product ID {}: {} → {}", id, oldQuantity, newQuantity);
-        return productMapper.toDto(updated);
+        return publish(ProductChangeType.STOCK_CHANGED, productMapper.toDto(updated));
     }
 
-    public ProductDto changeCategory(Long id, String newCategory) {
+    @Caching(put = @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_CATEGORIES, allEntries = true))
+    @Transactional
+    public ProductDto changeCategory(Long id, String newCategory, Long expectedVersion) {
         log.info("Attempting to change category for product ID {} to '{}'", id, newCategory);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.warn("Product not found for ID {}", id);
+                    log.debug("Product not found for ID {}", id);
                     return new ResourceNotFoundException("Product not found for id " + id);
                 });
 
+        checkVersion(product, expectedVersion);
         String oldCategory = product.getCategory();
         product.setCategory(newCategory);
-        Product updated = productRepository.save(product);
+        Product updated = productRepository.saveAndFlush(product);
 
         log.debug("Category changed for product ID {}: '{}' → '{}'", id, oldCategory, newCategory);
-        return productMapper.toDto(updated);
+        return publish(ProductChangeType.CATEGORY_CHANGED, productMapper.toDto(updated));
     }
 
 
-    public void deleteProduct(Long id) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_CATEGORIES, allEntries = true)
+    })
+    @Transactional
+    public void deleteProduct(Long id, Long expectedVersion) {
         String username = getLoggedUsername();
 
         log.info("User '{}' is attempting to delete product with ID {}", username, id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found for id " + id));
+        checkVersion(product, expectedVersion);
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         log.debug("Product with ID {} deleted by user '{}'", id, username);
     }
 
-    private String getLoggedUsername() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new UnauthorizedAccessException("User is not authenticated");
+    /**
+     * Enforces an {@code If-Match} precondition; {@code null} means the client sent none.
+     */
+    private void checkVersion(Product product, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            log.warn("Version mismatch for product ID {}: expected {}, current {}",
+                    product.getId(), expectedVersion, product.getVersion());
+            throw new PreconditionFailedException("Product " + product.getId() + " was modified, current version is "
+                    + product.getVersion());
+        }
+    }
+
+    private void validate(ProductPatch patch) {
+        Set<ConstraintViolation<ProductPatch>> violations = validator.validate(patch);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream().map(ConstraintViolation::getMessage).sorted()
+                    .collect(Collectors.joining("; ")));
         }
+    }
 
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails userDetails) {
-            return userDetails.getUsername();
+    /**
+     * A patch of a single price, stock or category field keeps that specific type, so that listeners
+     * which ignore such changes, like the full-text index for price and stock, can skip it.
+     */
+    private static ProductChangeType changeType(ProductPatch patch) {
+        if (patch.getName() != null || patch.getDescription() != null) {
+            return ProductChangeType.UPDATED;
+        }
+        boolean price = patch.getPrice() != null;
+        boolean stock = patch.getStockQuantity() != null;
+        boolean category = patch.getCategory() != null;
+        if (price && !stock && !category) {
+            return ProductChangeType.PRICE_CHANGED;
+        }
+        if (stock && !price && !category) {
+            return ProductChangeType.STOCK_CHANGED;
+        }
+        if (category && !price && !stock) {
+            return ProductChangeType.CATEGORY_CHANGED;
         }
+        return ProductChangeType.UPDATED;
+    }
+
+    private ProductDto publish(ProductChangeType type, ProductDto product) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(type, product));
+        return product;
+    }
 
-        return principal.toString();
+    private String getLoggedUsername() {
+        return AuthenticatedUser.username();
     }
 }
@@ -0,0 +1,302 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.WriteBehindProperties;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.exception.ServiceUnavailableException;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.dtos.ProductDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for high-frequency price and stock changes (opt-in via
+ * {@code store.products.write-behind.enabled}).
+ *
+ * <p>Changes are merged per product into a {@link ConcurrentHashMap}, whose per-bin locking keeps
+ * writers to different products from contending; only the last price and the last stock per product
+ * survive. A flush drains the map and writes it as one JDBC batch in one transaction, at most every
+ * {@code flush-interval}, earlier once {@code max-pending} products are buffered, and on shutdown.
+ * Until their flush has committed, the buffered values are laid over single-product reads.
+ *
+ * <p>Buffered values are absolute, so any other write to a product first flushes what is buffered
+ * for it ({@link #flushPending}, done by {@link ProductCommandService} for single-product writes);
+ * otherwise a later flush would overwrite that write. That flush happens before the write's own
+ * transaction starts, so a request never holds two connections, and if it fails the write fails with
+ * it instead of going ahead of the changes it would be overwritten by.
+ *
+ * <p>The buffer is bounded: once it holds {@code capacity} products, or flushes have been failing for
+ * longer than {@code max-failure-duration}, new changes are rejected with 503 rather than accepted
+ * into memory that is not being written.
+ */
+@Slf4j
+@Component
+public class ProductWriteBuffer implements SchedulingConfigurer {
+
+    private static final String FLUSH_SQL = "UPDATE product SET price = COALESCE(?, price), "
+            + "stock_quantity = COALESCE(?, stock_quantity), version = version + 1 WHERE id = ?";
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM product WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate flushTransaction;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductCacheInvalidator cacheInvalidator;
+
+    private final TaskExecutor taskExecutor;
+
+    private final WriteBehindProperties properties;
+
+    private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * When the first of the flushes failing in a row started failing, in epoch millis; 0 while they succeed.
+     */
+    private final AtomicLong failingSince = new AtomicLong();
+
+    /**
+     * Writes taken out of {@link #pending} by the running flush; still visible to reads until it commits.
+     */
+    private volatile Map<Long, PendingWrite> flushing = Map.of();
+
+    @Autowired
+    public ProductWriteBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher, ProductCacheInvalidator cacheInvalidator,
+                              @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                              WriteBehindProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheInvalidator = cacheInvalidator;
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+        Gauge.builder("store.products.write_behind.pending", pending, Map::size)
+                .description("Products with buffered price or stock changes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(this::flush, properties.getFlushInterval());
+        }
+    }
+
+    public void changePrice(Long productId, BigDecimal newPrice) {
+        if (newPrice == null || newPrice.signum() < 0) {
+            throw new ValidationException("Price must be positive");
+        }
+        buffer(productId, new PendingWrite(newPrice, null));
+    }
+
+    public void changeStockQuantity(Long productId, int newQuantity) {
+        if (newQuantity < 0) {
+            throw new ValidationException("Stock quantity must be positive");
+        }
+        buffer(productId, new PendingWrite(null, newQuantity));
+    }
+
+    /**
+     * @return {@code product} itself when nothing is buffered for it, otherwise a copy carrying the
+     * buffered values (and the version of the last committed write)
+     */
+    public ProductDto overlay(ProductDto product) {
+        PendingWrite write = lookup(product.getId());
+        if (write == null) {
+            return product;
+        }
+        return ProductDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(write.price() != null ? write.price() : product.getPrice())
+                .description(product.getDescription())
+                .stockQuantity(write.stockQuantity() != null ? write.stockQuantity() : product.getStockQuantity())
+                .category(product.getCategory())
+                .version(product.getVersion())
+                .build();
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty() || !flushing.isEmpty();
+    }
+
+    public boolean hasPending(Long productId) {
+        return lookup(productId) != null;
+    }
+
+    /**
+     * Makes sure nothing buffered for these products is still to be written, flushing if needed.
+     * Must be called outside any transaction, before the caller's own write.
+     *
+     * @throws RuntimeException the flush failure; the changes stay buffered and the caller must not
+     * write these products now
+     */
+    public void flushPending(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            if (hasPending(productId)) {
+                forceFlush();
+                return;
+            }
+        }
+    }
+
+    public void flushPending(Long productId) {
+        if (hasPending(productId)) {
+            forceFlush();
+        }
+    }
+
+    /**
+     * Drains the buffer in one transaction; a failed flush is logged and retried by the next one.
+     * Flushes are serialized, so a caller returns only after everything buffered before the call
+     * has been written or put back.
+     */
+    @PreDestroy
+    public void flush() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            log.error("Write-behind flush failed, will retry", ex);
+        }
+    }
+
+    private void forceFlush() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Buffered product changes must be flushed before the transaction starts");
+        }
+        drain();
+    }
+
+    private synchronized void drain() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, PendingWrite> batch = new HashMap<>(pending);
+        // publish the batch before taking it out of pending, so a read always finds it in one of the two
+        flushing = batch;
+        // remove only the values copied; a change merged in since then stays for the next flush
+        batch.forEach(pending::remove);
+        try {
+            write(batch);
+        } finally {
+            flushing = Map.of();
+        }
+    }
+
+    private void write(Map<Long, PendingWrite> batch) {
+        long start = System.nanoTime();
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        try {
+            flushTransaction.executeWithoutResult(status -> {
+                int[] counts = jdbcTemplate.batchUpdate(FLUSH_SQL, ids, ids.size(), (statement, productId) -> {
+                    PendingWrite write = batch.get(productId);
+                    statement.setBigDecimal(1, write.price());
+                    statement.setObject(2, write.stockQuantity());
+                    statement.setLong(3, productId);
+                })[0];
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        log.warn("Dropping buffered change for missing product ID {}", ids.get(i));
+                    } else {
+                        eventPublisher.publishEvent(ProductChangedEvent.changed(batch.get(ids.get(i)).changeType(),
+                                ids.get(i)));
+                    }
+                }
+                cacheInvalidator.evictProducts(ids);
+                cacheInvalidator.evictPersistenceCache(ids);
+            });
+        } catch (RuntimeException ex) {
+            failingSince.compareAndSet(0, System.currentTimeMillis());
+            // put the changes back unless a newer one arrived meanwhile; the next flush retries them
+            batch.forEach((productId, write) -> pending.merge(productId, write, (newer, older) -> older.then(newer)));
+            log.warn("Write-behind flush of {} products failed: {}", batch.size(), ex.getMessage());
+            throw ex;
+        }
+        failingSince.set(0);
+        log.debug("Flushed buffered changes for {} products in {} ms", ids.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void buffer(Long productId, PendingWrite write) {
+        long failing = failingSince.get();
+        if (failing != 0 && System.currentTimeMillis() - failing > properties.getMaxFailureDuration().toMillis()) {
+            throw new ServiceUnavailableException("Buffered product changes cannot be written, retry later");
+        }
+        if (pending.size() >= properties.getCapacity() && !pending.containsKey(productId)) {
+            throw new ServiceUnavailableException("Too many buffered product changes, retry later");
+        }
+        // a change to an unknown product would be accepted here and silently dropped by the flush
+        if (lookup(productId) == null && !exists(productId)) {
+            throw new ResourceNotFoundException("Product not found for id " + productId);
+        }
+        pending.merge(productId, write, PendingWrite::then);
+        if (pending.size() >= properties.getMaxPending() && flushRequested.compareAndSet(false, true)) {
+            taskExecutor.execute(this::flush);
+        }
+    }
+
+    private boolean exists(Long productId) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, productId);
+        return count != null && count > 0;
+    }
+
+    private PendingWrite lookup(Long productId) {
+        PendingWrite inFlight = flushing.get(productId);
+        PendingWrite buffered = pending.get(productId);
+        if (inFlight == null) {
+            return buffered;
+        }
+        return buffered == null ? inFlight : inFlight.then(buffered);
+    }
+
+    /**
+     * Last buffered price and stock of one product; {@code null} means unchanged.
+     */
+    record PendingWrite(BigDecimal price, Integer stockQuantity) {
+
+        PendingWrite then(PendingWrite next) {
+            return new PendingWrite(next.price != null ? next.price : price,
+                    next.stockQuantity != null ? next.stockQuantity : stockQuantity);
+        }
+
+        ProductChangeType changeType() {
+            if (stockQuantity == null) {
+                return ProductChangeType.PRICE_CHANGED;
+            }
+            return price == null ? ProductChangeType.STOCK_CHANGED : ProductChangeType.UPDATED;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.shop.store_management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * At most one load per key at a time: the first caller runs it, callers arriving while it runs
+ * wait for and share its result, or its exception. Nothing is kept once the load finishes.
+ */
+final class SingleFlight<K, V> {
+
+    static final String REQUESTS_METER = "store.products.coalescing.requests";
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+
+    private final Counter shared;
+
+    SingleFlight(String read, MeterRegistry meterRegistry) {
+        this.executed = requests(read, "executed", meterRegistry);
+        this.shared = requests(read, "shared", meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            shared.increment();
+            return await(running);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter requests(String read, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(REQUESTS_METER)
+                .description("Product reads that ran a lookup (executed) or joined one already running (shared)")
+                .tag("read", read)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.CacheConfig;
+import com.shop.store_management.config.MetricsConfig;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.exception.InsufficientStockException;
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.dtos.StockReservationItem;
+import com.shop.store_management.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Delta-based stock changes for checkout. Every change is one conditional UPDATE, so concurrent
+ * reservations never lose updates and never oversell, and no row lock outlives the statement
+ * (or the cart transaction).
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+
+    private final ProductCacheInvalidator cacheInvalidator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public StockReservationService(ProductRepository productRepository, ProductCacheInvalidator cacheInvalidator,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    @Transactional
+    public void reserve(Long productId, int quantity) {
+        checkQuantity(quantity);
+        log.info("Reserving {} units of product ID {}", quantity, productId);
+        if (productRepository.reserveStock(productId, quantity) == 0) {
+            throw reservationFailure(productId, quantity);
+        }
+        cacheInvalidator.evictPersistenceCache(List.of(productId));
+        publishStockChanged(productId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    @Transactional
+    public void release(Long productId, int quantity) {
+        checkQuantity(quantity);
+        log.info("Releasing {} units of product ID {}", quantity, productId);
+        if (productRepository.releaseStock(productId, quantity) == 0) {
+            throw new ResourceNotFoundException("Product not found for id " + productId);
+        }
+        cacheInvalidator.evictPersistenceCache(List.of(productId));
+        publishStockChanged(productId);
+    }
+
+    /**
+     * Reserves a whole cart or nothing. Rows are updated in ascending id order so two carts sharing
+     * products always lock them in the same order and cannot deadlock.
+     */
+    @Transactional
+    public void reserveAll(List<StockReservationItem> items) {
+        Map<Long, Integer> quantities = mergeByProductId(items);
+        log.info("Reserving stock for {} products", quantities.size());
+        cacheInvalidator.evictProducts(quantities.keySet());
+        cacheInvalidator.evictPersistenceCache(quantities.keySet());
+        quantities.forEach((productId, quantity) -> {
+            if (productRepository.reserveStock(productId, quantity) == 0) {
+                throw reservationFailure(productId, quantity);
+            }
+            publishStockChanged(productId);
+        });
+    }
+
+    @Transactional
+    public void releaseAll(List<StockReservationItem> items) {
+        Map<Long, Integer> quantities = mergeByProductId(items);
+        log.info("Releasing stock for {} products", quantities.size());
+        cacheInvalidator.evictProducts(quantities.keySet());
+        cacheInvalidator.evictPersistenceCache(quantities.keySet());
+        quantities.forEach((productId, quantity) -> {
+            if (productRepository.releaseStock(productId, quantity) == 0) {
+                throw new ResourceNotFoundException("Product not found for id " + productId);
+            }
+            publishStockChanged(productId);
+        });
+    }
+
+    /**
+     * The UPDATE does not read the row back, so the event carries no snapshot.
+     */
+    private void publishStockChanged(Long productId) {
+        eventPublisher.publishEvent(ProductChangedEvent.changed(ProductChangeType.STOCK_CHANGED, productId));
+    }
+
+    private RuntimeException reservationFailure(Long productId, int quantity) {
+        if (!productRepository.existsById(productId)) {
+            return new ResourceNotFoundException("Product not found for id " + productId);
+        }
+        log.warn("Not enough stock to reserve {} units of product ID {}", quantity, productId);
+        return new InsufficientStockException("product " + productId + " has fewer than " + quantity + " units");
+    }
+
+    private static Map<Long, Integer> mergeByProductId(List<StockReservationItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Reservation must contain at least one item");
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockReservationItem item : items) {
+            if (item.getProductId() == null) {
+                throw new ValidationException("Product id is required");
+            }
+            checkQuantity(item.getQuantity());
+            quantities.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+
+    private static void checkQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new ValidationException("Quantity must be positive");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.shop.store_management.web;
+
+import com.shop.store_management.config.ReadReplicaProperties;
+import com.shop.store_management.config.ReplicaRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Tracks read-your-writes per client rather than per account, since many clients share one login.
+ * A response to a request that wrote carries a cookie with the time until which that client reads
+ * from the primary; the client sends it back and any instance honours it, so nothing is kept on the
+ * server. Deadlines further out than one window are ignored.
+ */
+@Component
+@ConditionalOnProperty(prefix = "store.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "store-primary-until";
+
+    private final Duration window;
+
+    @Autowired
+    public ReadYourWritesFilter(ReadReplicaProperties properties) {
+        this.window = properties.getReadYourWritesWindow();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        request.setAttribute(ReplicaRoutingDataSource.CLIENT_ATTRIBUTE, new Client(primaryUntil(request), response));
+        chain.doFilter(request, response);
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        long latestAllowed = System.currentTimeMillis() + window.toMillis();
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until <= latestAllowed ? until : 0;
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private final class Client implements ReplicaRoutingDataSource.Client {
+
+        private final long primaryUntil;
+
+        private final HttpServletResponse response;
+
+        private volatile boolean wrote;
+
+        private Client(long primaryUntil, HttpServletResponse response) {
+            this.primaryUntil = primaryUntil;
+            this.response = response;
+        }
+
+        @Override
+        public void wrote() {
+            if (wrote) {
+                return;
+            }
+            wrote = true;
+            // writes happen before the body is written; a response already streaming keeps its headers
+            if (!response.isCommitted()) {
+                long until = System.currentTimeMillis() + window.toMillis();
+                response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(until))
+                        .path("/")
+                        .maxAge(window)
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .build()
+                        .toString());
+            }
+        }
+
+        @Override
+        public boolean wroteRecently() {
+            return wrote || primaryUntil > System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.shop.store_management.web;
+
+import com.shop.store_management.config.RequestLoggingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * One access log line per sampled request, in place of the per-method INFO lines the controller and
+ * service used to write. Errors and slow requests are always logged; the rest at
+ * {@code store.logging.requests.sample-rate}. The decision is made after the response, so an
+ * unsampled request costs a clock read and a random number. For the streamed export the line is
+ * written when the handler returns, before the body has been streamed.
+ */
+@Slf4j
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private final RequestLoggingProperties properties;
+
+    @Autowired
+    public RequestLoggingFilter(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled() || !log.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            int status = response.getStatus();
+            if (shouldLog(status, elapsedNanos)) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                log.info("{} {} {} {} {} {}",
+                        kv("method", request.getMethod()),
+                        kv("path", request.getRequestURI()),
+                        kv("route", route == null ? "" : route),
+                        kv("status", status),
+                        kv("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos)),
+                        kv("user", request.getRemoteUser() == null ? "anonymous" : request.getRemoteUser()));
+            }
+        }
+    }
+
+    private boolean shouldLog(int status, long elapsedNanos) {
+        if (properties.isAlwaysLogErrors() && status >= 400) {
+            return true;
+        }
+        if (elapsedNanos >= properties.getSlowThreshold().toNanos()) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+}
@@ -0,0 +1,37 @@
+-- ids are handed out by Hibernate in blocks of 50 (pooled-lo), which keeps JDBC insert batching possible
+CREATE SEQUENCE product_seq START WITH 51 INCREMENT BY 50;
+
+CREATE TABLE product (
+    id BIGINT NOT NULL,
+    product_name VARCHAR(45) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    stock_quantity INT NOT NULL,
+    category VARCHAR(60) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- keyset pagination seeks on (sort column, id)
+CREATE INDEX idx_product_price_id ON product (price, id);
+CREATE INDEX idx_product_name_id ON product (product_name, id);
+CREATE INDEX idx_product_category_id ON product (category, id);
+
+-- search: category filter with price range, name prefix uses idx_product_name_id
+CREATE INDEX idx_product_category_price ON product (category, price, id);
+
+-- transactional outbox: one row per product change, read by the change feed and the relay
+CREATE SEQUENCE product_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE product_change (
+    seq BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    payload VARCHAR(1000),
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (seq)
+);
+
+-- the relay scans for unpublished rows in seq order; the purge deletes by published_at
+CREATE INDEX idx_product_change_published ON product_change (published_at, seq);
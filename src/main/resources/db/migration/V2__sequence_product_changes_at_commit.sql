@@ -0,0 +1,17 @@
+-- outbox rows are identified by id from the moment they are recorded; their feed position (seq) is
+-- assigned after commit by the single sequencer, so seq order is commit order
+ALTER TABLE product_change ADD COLUMN id BIGINT;
+UPDATE product_change SET id = seq;
+ALTER TABLE product_change ALTER COLUMN id SET NOT NULL;
+ALTER TABLE product_change DROP PRIMARY KEY;
+ALTER TABLE product_change ADD PRIMARY KEY (id);
+ALTER TABLE product_change ALTER COLUMN seq SET NULL;
+ALTER TABLE product_change ADD CONSTRAINT uq_product_change_seq UNIQUE (seq);
+
+-- one row: the last seq handed out, locked by the sequencer for the length of each pass
+CREATE TABLE product_change_sequencer (
+    id INT NOT NULL,
+    last_seq BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO product_change_sequencer (id, last_seq) SELECT 1, COALESCE(MAX(seq), 0) FROM product_change;
@@ -0,0 +1,8 @@
+-- demo catalog for the in-memory database; not on the durable profile's migration path
+INSERT INTO product (id, product_name, description, price, stock_quantity, category)
+VALUES
+(1, 'Lenovo Laptop', 'High-performance laptop', 3499.99, 15, 'Electronics'),
+(2, 'Coffee Maker', 'Coffee for a energy day', 199.50, 30, 'Home Appliances'),
+(3, 'Polo T-Shirt', 'Some T-shirt', 89.90, 50, 'Clothing'),
+(4, 'Samsung Smartphone', 'Some phone with great camera', 2799.00, 20, 'Electronics'),
+(5, 'Book: Bedtime Stories for Children', 'Illustrated volume with calming bedtime tales', 59.99, 100, 'Books');
@@ -1,11 +0,0 @@
-DROP TABLE IF EXISTS product;
-
-CREATE TABLE product (
-    id INT NOT NULL AUTO_INCREMENT,
-    product_name VARCHAR(45) NOT NULL,
-    description VARCHAR(255) NOT NULL,
-    price DECIMAL(10,2) NOT NULL,
-    stock_quantity INT NOT NULL,
-    category VARCHAR(60) NOT NULL,
-    PRIMARY KEY (id)
-);
\ No newline at end of file
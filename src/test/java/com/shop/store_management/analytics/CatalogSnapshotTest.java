@@ -0,0 +1,83 @@
+package com.shop.store_management.analytics;
+
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import com.shop.store_management.service.StockReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CatalogSnapshotTest {
+
+    @Autowired
+    private CatalogSnapshot snapshot;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Test
+    void testReserve_readsBackStockOffTheRequestThread() throws InterruptedException {
+        Long productId = productRepository.save(Product.builder()
+                .name("Snapshot kettle")
+                .description("Kettle")
+                .price(BigDecimal.valueOf(30))
+                .stockQuantity(9)
+                .category("Kitchen")
+                .build()).getId();
+        snapshot.rebuild();
+
+        stockReservationService.reserve(productId, 2);
+        stockReservationService.reserve(productId, 3);
+
+        for (int attempt = 0; attempt < 500 && !Optional.of(4).equals(stockOf(productId)); attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(Optional.of(4), stockOf(productId));
+    }
+
+    @Test
+    void testReadBack_olderThanStoredRowIgnored() throws InterruptedException {
+        Product product = productRepository.save(Product.builder()
+                .name("Snapshot toaster")
+                .description("Toaster")
+                .price(BigDecimal.valueOf(25))
+                .stockQuantity(9)
+                .category("Kitchen")
+                .build());
+        snapshot.rebuild();
+        // a newer write's snapshot arrives while the database still holds the older row
+        snapshot.onProductChanged(ProductChangedEvent.of(ProductChangeType.STOCK_CHANGED, ProductDto.builder()
+                .id(product.getId())
+                .price(BigDecimal.valueOf(25))
+                .stockQuantity(1)
+                .category("Kitchen")
+                .version(product.getVersion() + 1)
+                .build()));
+
+        snapshot.onProductChanged(ProductChangedEvent.changed(ProductChangeType.STOCK_CHANGED, product.getId()));
+
+        for (int attempt = 0; attempt < 50 && Optional.of(1).equals(stockOf(product.getId())); attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(Optional.of(1), stockOf(product.getId()));
+    }
+
+    private Optional<Integer> stockOf(Long productId) {
+        return snapshot.stockBelow(Integer.MAX_VALUE, snapshot.size()).stream()
+                .filter(level -> level.productId() == productId)
+                .map(StockLevel::stockQuantity)
+                .findFirst();
+    }
+}
@@ -0,0 +1,87 @@
+package com.shop.store_management.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarCatalogTest {
+
+    private final ColumnarCatalog catalog = new ColumnarCatalog();
+
+    @Test
+    void testTotalsByCategory_success() {
+        catalog.put(1L, 1000, 3, "Books");
+        catalog.put(2L, 2550, 2, "Books");
+        catalog.put(3L, 99900, 1, "Laptops");
+
+        List<CategoryTotals> totals = catalog.totalsByCategory();
+
+        assertEquals(List.of(
+                new CategoryTotals("Books", 2, 5, 3550, 1000, 2550, 8100),
+                new CategoryTotals("Laptops", 1, 1, 99900, 99900, 99900, 99900)), totals);
+    }
+
+    @Test
+    void testPutAndRemove_keepRowsDense() {
+        catalog.put(1L, 100, 1, "A");
+        catalog.put(2L, 200, 2, "B");
+        catalog.put(3L, 300, 3, "A");
+        catalog.put(1L, 150, 5, "B");
+        catalog.remove(2L);
+        catalog.remove(42L);
+
+        assertEquals(2, catalog.size());
+        assertEquals(List.of(
+                new CategoryTotals("A", 1, 3, 300, 300, 300, 900),
+                new CategoryTotals("B", 1, 5, 150, 150, 150, 750)), catalog.totalsByCategory());
+    }
+
+    @Test
+    void testPriceDistribution_nearestRankPercentiles() {
+        for (long id = 1; id <= 100; id++) {
+            catalog.put(id, (101 - id) * 100, 1, id % 2 == 0 ? "Even" : "Odd");
+        }
+
+        PriceDistribution all = catalog.priceDistribution(null, new double[]{99, 50, 100, 1});
+        PriceDistribution even = catalog.priceDistribution("Even", new double[]{50});
+
+        assertArrayEquals(new long[]{9900, 5000, 10000, 100}, all.percentiles());
+        assertEquals(100, all.products());
+        assertEquals(505000, all.priceSum());
+        assertEquals(50, even.products());
+        assertArrayEquals(new long[]{4900}, even.percentiles());
+        assertEquals(0, catalog.priceDistribution("Missing", new double[]{50}).products());
+    }
+
+    @Test
+    void testStockBelow_lowestFirstWithinLimit() {
+        catalog.put(1L, 100, 7, "A");
+        catalog.put(2L, 100, 0, "A");
+        catalog.put(3L, 100, 50, "B");
+        catalog.put(4L, 100, 3, "B");
+        catalog.put(5L, 100, 3, "A");
+
+        assertEquals(List.of(
+                new StockLevel(2L, 0, "A"),
+                new StockLevel(4L, 3, "B"),
+                new StockLevel(5L, 3, "A")), catalog.stockBelow(10, 3));
+    }
+
+    @Test
+    void testTotalsByCategory_parallelScanMatchesSequential() {
+        int rows = 200_000;
+        long expectedValue = 0;
+        for (int id = 0; id < rows; id++) {
+            catalog.put(id, id % 1000, id % 7, "C" + id % 3);
+            expectedValue += (long) (id % 1000) * (id % 7);
+        }
+
+        List<CategoryTotals> totals = catalog.totalsByCategory();
+
+        assertEquals(rows, totals.stream().mapToInt(CategoryTotals::products).sum());
+        assertEquals(expectedValue, totals.stream().mapToLong(CategoryTotals::inventoryValue).sum());
+    }
+}
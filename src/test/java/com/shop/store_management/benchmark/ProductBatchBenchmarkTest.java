@@ -0,0 +1,103 @@
+package com.shop.store_management.benchmark;
+
+import com.shop.store_management.model.dtos.BatchItemResult;
+import com.shop.store_management.model.dtos.BatchItemStatus;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.service.ProductBatchService;
+import com.shop.store_management.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the batch endpoints against the one-product-per-call service path.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@WithMockUser
+class ProductBatchBenchmarkTest {
+
+    private static final int WARMUP_PRODUCTS = 1_000;
+
+    private static final int PRODUCTS = 10_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Test
+    void compareCreateThroughput() {
+        measure("one-at-a-time create", WARMUP_PRODUCTS, dtos -> dtos.forEach(productService::createProduct));
+        double single = measure("one-at-a-time create", PRODUCTS, dtos -> dtos.forEach(productService::createProduct));
+
+        measure("batch create", WARMUP_PRODUCTS, this::createInBatch);
+        double batch = measure("batch create", PRODUCTS, this::createInBatch);
+
+        log.info(String.format("batch/one-at-a-time create speed-up: %.2fx", batch / single));
+    }
+
+    @Test
+    void compareUpdateThroughput() {
+        List<ProductDto> created = new ArrayList<>();
+        productBatchService.createProducts(products("update", PRODUCTS)).forEach(result -> {
+            ProductDto dto = products("updated", 1).get(0);
+            dto.setId(result.getId());
+            created.add(dto);
+        });
+
+        double single = measureOn("one-at-a-time update", created,
+                dtos -> dtos.forEach(dto -> productService.updateProduct(dto.getId(), dto, null)));
+        double batch = measureOn("batch update", created, dtos -> {
+            List<BatchItemResult> results = productBatchService.updateProducts(dtos);
+            assertTrue(results.stream().allMatch(result -> result.getStatus() == BatchItemStatus.UPDATED));
+        });
+
+        log.info(String.format("batch/one-at-a-time update speed-up: %.2fx", batch / single));
+    }
+
+    private void createInBatch(List<ProductDto> dtos) {
+        List<BatchItemResult> results = productBatchService.createProducts(dtos);
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BatchItemStatus.CREATED));
+    }
+
+    private double measure(String label, int count, Consumer<List<ProductDto>> work) {
+        return measureOn(label, products(label, count), work);
+    }
+
+    private double measureOn(String label, List<ProductDto> dtos, Consumer<List<ProductDto>> work) {
+        long start = System.nanoTime();
+        work.accept(dtos);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double throughput = dtos.size() / seconds;
+        log.info(String.format("%-22s %,7d products in %6.2f s -> %,10.0f products/s", label, dtos.size(), seconds,
+                throughput));
+        return throughput;
+    }
+
+    private static List<ProductDto> products(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> ProductDto.builder()
+                        .name(prefix.substring(0, Math.min(prefix.length(), 30)) + " " + i)
+                        .description("Benchmark product")
+                        .price(BigDecimal.valueOf(10 + i % 100))
+                        .stockQuantity(i % 50)
+                        .category("Category " + i % 20)
+                        .build())
+                .toList();
+    }
+}
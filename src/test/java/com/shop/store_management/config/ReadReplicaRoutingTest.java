@@ -0,0 +1,118 @@
+package com.shop.store_management.config;
+
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import com.shop.store_management.web.ReadYourWritesFilter;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two local H2 databases: the usual test database is the primary and carries the sample catalog,
+ * the replica gets the schema only, so the row count shows where a query ran.
+ */
+@SpringBootTest(properties = {
+        "store.datasource.replicas.enabled=true",
+        "store.datasource.replicas.nodes[0].url=" + ReadReplicaRoutingTest.REPLICA_URL
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1";
+
+    private static final String COUNT_PRODUCTS = "SELECT COUNT(*) FROM product";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void createReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+    }
+
+    @Test
+    void testReadOnlyTransaction_routedToReplica() {
+        assertEquals(0L, count(true));
+        assertTrue(count(false) > 0);
+    }
+
+    @Test
+    @WithMockUser
+    void testGetAllProducts_clientReadsOwnWritesFromPrimary() throws Exception {
+        Cookie primaryUntil = mockMvc.perform(post("/api/products/2/reserve").param("quantity", "1"))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(primaryUntil);
+
+        mockMvc.perform(get("/api/products").cookie(primaryUntil))
+                .andExpect(jsonPath("$.items").isNotEmpty());
+        // another client on the same account did not write
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    @WithMockUser
+    void testGetProductById_cachedResultReadFromPrimary() throws Exception {
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void testReadOnlyTransaction_doesNotFillSecondLevelCache() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.update("INSERT INTO product (id, product_name, description, price, stock_quantity, category, version) "
+                + "VALUES (900, 'Replica only', 'Lagging copy', 1.00, 1, 'Test', 0)");
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            int found = readOnly.execute(status -> productRepository.findAllById(List.of(900L)).size());
+
+            assertEquals(1, found);
+            assertFalse(entityManagerFactory.getCache().contains(Product.class, 900L));
+        } finally {
+            replica.update("DELETE FROM product WHERE id = 900");
+        }
+    }
+
+    private long count(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject(COUNT_PRODUCTS, Long.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.shop.store_management.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replica1Connection = mock(Connection.class);
+
+    private final Connection replica2Connection = mock(Connection.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica1.getConnection()).thenReturn(replica1Connection);
+        lenient().when(replica2.getConnection()).thenReturn(replica2Connection);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReadReplicaProperties.Selection.ROUND_ROBIN, Duration.ofHours(1));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        bindClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testGetConnection_readOnlyRoundRobin() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replica1Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void testGetConnection_readYourWrites() throws SQLException {
+        assertSame(primaryConnection, routing.getConnection());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+
+        bindClient();
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void testGetConnection_unhealthyReplicaSkipped() throws SQLException {
+        when(replica1Connection.isValid(2)).thenReturn(false);
+        when(replica2.getConnection()).thenThrow(new SQLException("replica down"));
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(0, routing.healthyReplicas());
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    private static void bindClient() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ReplicaRoutingDataSource.CLIENT_ATTRIBUTE, new TestClient());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static final class TestClient implements ReplicaRoutingDataSource.Client {
+
+        private boolean wrote;
+
+        @Override
+        public void wrote() {
+            wrote = true;
+        }
+
+        @Override
+        public boolean wroteRecently() {
+            return wrote;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.shop.store_management.controller;
+
+import com.shop.store_management.outbox.ProductChangeSequencer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductChangeSequencer sequencer;
+
+    @Test
+    @WithMockUser
+    void testStreamChanges_success() throws Exception {
+        mockMvc.perform(patch("/api/products/2")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"category\":\"Kitchen\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/products/2/reserve").param("quantity", "1"))
+                .andExpect(status().isNoContent());
+        sequencer.sequencePending();
+
+        MvcResult result = mockMvc.perform(get("/api/products/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"productId\":2,\"type\":\"CATEGORY_CHANGED\"")))
+                .andExpect(content().string(containsString("\"category\":\"Kitchen\"")))
+                .andExpect(content().string(containsString("\"productId\":2,\"type\":\"STOCK_CHANGED\"")));
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamChanges_negativeSince() throws Exception {
+        mockMvc.perform(get("/api/products/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,69 @@
+package com.shop.store_management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testGetAllProducts_cborMatchesJson() throws Exception {
+        JsonNode json = objectMapper.readTree(body("/api/products?size=3", MediaType.APPLICATION_JSON));
+        JsonNode cbor = new ObjectMapper(new CBORFactory()).readTree(body("/api/products?size=3", MediaType.APPLICATION_CBOR));
+
+        assertEquals(json.get("items").size(), cbor.get("items").size());
+        assertEquals(json.get("items").get(0).get("name"), cbor.get("items").get(0).get("name"));
+        assertEquals(json.get("nextCursor"), cbor.get("nextCursor"));
+    }
+
+    @Test
+    void testGetProductById_smile() throws Exception {
+        JsonNode smile = new ObjectMapper(new SmileFactory()).readTree(body("/api/products/1", SMILE));
+
+        assertEquals(1, smile.get("id").asInt());
+    }
+
+    @Test
+    void testGetAllProducts_pageEtagIsWeak() throws Exception {
+        String etag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertTrue(etag.startsWith("W/\""));
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private byte[] body(String uri, MediaType accept) throws Exception {
+        return mockMvc.perform(get(uri).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,30 @@
+package com.shop.store_management.controller;
+
+import com.shop.store_management.exception.PreconditionFailedException;
+import com.shop.store_management.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductEtagsTest {
+
+    @Test
+    void testExpectedVersion_strongAndWeakProductTags() {
+        assertEquals(3L, ProductEtags.expectedVersion(7L, "\"7-3\""));
+        assertEquals(3L, ProductEtags.expectedVersion(7L, " W/\"7-3\" "));
+        assertNull(ProductEtags.expectedVersion(7L, "*"));
+    }
+
+    @Test
+    void testExpectedVersion_otherProductPreconditionFailed() {
+        assertThrows(PreconditionFailedException.class, () -> ProductEtags.expectedVersion(7L, "\"8-3\""));
+    }
+
+    @Test
+    void testExpectedVersion_pageTagRejected() {
+        assertThrows(ValidationException.class,
+                () -> ProductEtags.expectedVersion(7L, "W/\"0f3a9c1b2d4e5f60718293a4b5c6d7e8\""));
+    }
+}
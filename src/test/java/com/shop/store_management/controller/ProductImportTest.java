@@ -0,0 +1,128 @@
+package com.shop.store_management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "store.products.import.chunk-size=2")
+@AutoConfigureMockMvc
+class ProductImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser
+    void testImportCsv_upsertsByNameAndReportsRowErrors() throws Exception {
+        String csv = """
+                name,description,price,stockQuantity,category
+                Import Lamp,Desk lamp,25.00,4,Lighting
+                "Book: Bedtime Stories for Children","Illustrated, calming tales",49.99,80,Books
+                Import Bulb,,3.50,100,Lighting
+                Import Shade,Paper shade,cheap,2,Lighting
+                Import Lamp,Desk lamp with dimmer,27.00,6,Lighting
+                """;
+
+        String body = mockMvc.perform(post("/api/products/imports").param("name", "suppliers.csv")
+                        .contentType("text/csv").content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode job = awaitFinished(objectMapper.readTree(body).get("id").asText());
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(6, job.get("processedLines").asLong());
+        assertEquals(1, job.get("created").asLong());
+        assertEquals(2, job.get("updated").asLong());
+        assertEquals(2, job.get("failed").asLong());
+        assertEquals(4, job.get("errors").get(0).get("line").asLong());
+        assertEquals("Description cannot be blank", job.get("errors").get(0).get("error").asText());
+        assertEquals(5, job.get("errors").get(1).get("line").asLong());
+
+        Map<String, Object> lamp = jdbcTemplate.queryForMap(
+                "SELECT description, price, version FROM product WHERE product_name = 'Import Lamp'");
+        assertEquals("Desk lamp with dimmer", lamp.get("description"));
+        assertEquals(0, new BigDecimal("27.00").compareTo((BigDecimal) lamp.get("price")));
+        assertEquals(1L, ((Number) lamp.get("version")).longValue());
+        Map<String, Object> book = jdbcTemplate.queryForMap("SELECT description, stock_quantity FROM product WHERE id = 5");
+        assertEquals("Illustrated, calming tales", book.get("description"));
+        assertEquals(80, ((Number) book.get("stock_quantity")).intValue());
+    }
+
+    @Test
+    @WithMockUser
+    void testImportCsv_categoryColumnRequired() throws Exception {
+        String csv = """
+                name,description,price,stockQuantity
+                Import Fan,Desk fan,19.00,3
+                """;
+
+        String body = mockMvc.perform(post("/api/products/imports").param("name", "no-category.csv")
+                        .contentType("text/csv").content(csv))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode job = awaitFinished(objectMapper.readTree(body).get("id").asText());
+
+        assertEquals("FAILED", job.get("status").asText());
+        assertTrue(job.get("message").asText().contains("category"));
+    }
+
+    @Test
+    @WithMockUser
+    void testImportFile_requiresAdmin() throws Exception {
+        mockMvc.perform(post("/api/products/imports/files").param("path", "catalog.ndjson"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testImportFile_outsideImportDirectory() throws Exception {
+        mockMvc.perform(post("/api/products/imports/files").param("path", "../pom.xml"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void testImportUpload_unsupportedContentType() throws Exception {
+        mockMvc.perform(post("/api/products/imports").contentType(MediaType.APPLICATION_XML).content("<products/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private JsonNode awaitFinished(String jobId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get("/api/products/imports/{id}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String status = job.get("status").asText();
+            if (!status.equals("QUEUED") && !status.equals("RUNNING")) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return fail("Import job " + jobId + " did not finish");
+    }
+}
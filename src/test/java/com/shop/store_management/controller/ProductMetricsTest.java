@@ -0,0 +1,64 @@
+package com.shop.store_management.controller;
+
+import com.shop.store_management.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ProductMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @WithMockUser
+    void testServiceTimerAndExceptionCounter_success() throws Exception {
+        double notFoundBefore = meterRegistry.counter(MetricsConfig.HANDLED_EXCEPTIONS,
+                "exception", "ResourceNotFoundException").count();
+
+        mockMvc.perform(get("/api/products/987654")).andExpect(status().isNotFound());
+
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+                .tag("class", "com.shop.store_management.service.ProductService")
+                .tag("method", "getProductById")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(notFoundBefore + 1, meterRegistry.counter(MetricsConfig.HANDLED_EXCEPTIONS,
+                "exception", "ResourceNotFoundException").count());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testPrometheusScrape_success() throws Exception {
+        mockMvc.perform(get("/api/products/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/api/products/{id}\"")))
+                .andExpect(content().string(not(containsString("uri=\"/api/products/1\""))))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("store_datasource_permits_available")));
+    }
+}
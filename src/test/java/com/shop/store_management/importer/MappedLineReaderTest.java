@@ -0,0 +1,67 @@
+package com.shop.store_management.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedLineReaderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testNext_chunksAcrossWindows() throws IOException {
+        Path file = write("a\nbb\nccc\ndddd\neeeee");
+
+        List<LineChunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file)) {
+            MappedLineReader reader = new MappedLineReader(channel, 2, 10);
+            LineChunk chunk;
+            while ((chunk = reader.next()) != null) {
+                chunks.add(chunk);
+            }
+        }
+
+        assertEquals(3, chunks.size());
+        assertEquals("a\nbb\n", text(chunks.get(0)));
+        assertEquals("ccc\ndddd\n", text(chunks.get(1)));
+        assertEquals("eeeee", text(chunks.get(2)));
+        assertEquals(List.of(1L, 3L, 5L), chunks.stream().map(LineChunk::firstLine).toList());
+        assertEquals(Files.size(file), chunks.get(2).endOffset());
+    }
+
+    @Test
+    void testNext_emptyFile() throws IOException {
+        try (FileChannel channel = FileChannel.open(write(""))) {
+            assertNull(new MappedLineReader(channel, 10).next());
+        }
+    }
+
+    @Test
+    void testNext_lineLongerThanWindow() throws IOException {
+        try (FileChannel channel = FileChannel.open(write("0123456789\nx\n"))) {
+            MappedLineReader reader = new MappedLineReader(channel, 10, 4);
+
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("products.csv"), content);
+    }
+
+    private static String text(LineChunk chunk) {
+        return new String(chunk.data(), StandardCharsets.UTF_8);
+    }
+}
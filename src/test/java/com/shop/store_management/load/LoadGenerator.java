@@ -0,0 +1,294 @@
+package com.shop.store_management.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.model.dtos.ProductDto;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of {@code /api/products} calls through the async JDK {@link HttpClient} and
+ * records per-operation latency in HdrHistogram {@link Recorder}s (microseconds).
+ *
+ * <p>In closed mode each of {@code concurrency} clients sends its next request when the previous
+ * one completes, so latency is measured from the actual send. In open mode requests are started on
+ * a fixed schedule and latency is measured from the scheduled start, so a stalled server shows up
+ * as queueing delay instead of silently lowering the request rate (coordinated omission).
+ *
+ * <p>Reads and changes target the seeded catalog; deletes only remove products this run created, so
+ * they never race with the other operations. A delete with nothing to remove is sent as a create.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Garden", "Toys", "Kitchen", "Sports"};
+
+    private final URI baseUri;
+
+    private final LoadTestSettings settings;
+
+    private final ObjectMapper objectMapper;
+
+    private final String authorization;
+
+    private final ExecutorService executor;
+
+    private final HttpClient client;
+
+    private final LoadOperation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final Map<LoadOperation, Recorder> recorders = new EnumMap<>(LoadOperation.class);
+
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+
+    private final Map<LoadOperation, LongAdder> conflicts = new EnumMap<>(LoadOperation.class);
+
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private long[] catalogIds = new long[0];
+
+    private volatile long deadline;
+
+    LoadGenerator(URI baseUri, LoadTestSettings settings, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (settings.username() + ":" + settings.password()).getBytes(StandardCharsets.UTF_8));
+        this.executor = newExecutor();
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        operations = settings.mix().keySet().toArray(LoadOperation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (LoadOperation operation : LoadOperation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            conflicts.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Virtual threads when the runtime has them, otherwise a cached platform pool.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    void seedCatalog() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(settings.catalogSize());
+        for (int from = 0; from < settings.catalogSize(); from += 1_000) {
+            List<ProductDto> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1_000, settings.catalogSize()); i++) {
+                chunk.add(product("Load seed " + i));
+            }
+            HttpResponse<String> response = client.send(request("/batch")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(chunk)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                ids.add(result.get("id").asLong());
+            }
+        }
+        catalogIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    LoadResult run() throws InterruptedException {
+        drive(settings.warmup());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        conflicts.values().forEach(LongAdder::reset);
+
+        long start = System.nanoTime();
+        drive(settings.duration());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+        Map<LoadOperation, Long> errorCounts = new EnumMap<>(LoadOperation.class);
+        Map<LoadOperation, Long> conflictCounts = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() > 0 || errors.get(operation).sum() > 0) {
+                histograms.put(operation, histogram);
+                errorCounts.put(operation, errors.get(operation).sum());
+                conflictCounts.put(operation, conflicts.get(operation).sum());
+            }
+        }
+        return new LoadResult(histograms, errorCounts, conflictCounts, elapsed);
+    }
+
+    /**
+     * Generates load for {@code period} and then waits for the requests still in flight.
+     */
+    private void drive(Duration period) throws InterruptedException {
+        long start = System.nanoTime();
+        deadline = start + period.toNanos();
+        if (settings.openLoop()) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / settings.ratePerSecond());
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * interval;
+                if (intendedStart >= deadline) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                send(intendedStart, false);
+            }
+        } else {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                send(System.nanoTime(), true);
+            }
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+            }
+        }
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private void send(long startNanos, boolean closedLoop) {
+        LoadOperation operation = nextOperation();
+        Long deleteId = null;
+        if (operation == LoadOperation.DELETE) {
+            deleteId = createdIds.poll();
+            if (deleteId == null) {
+                operation = LoadOperation.CREATE;
+            }
+        }
+        HttpRequest request = buildRequest(operation, deleteId);
+        LoadOperation sent = operation;
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+                    record(sent, response, failure, latencyMicros);
+                    inFlight.decrementAndGet();
+                    if (closedLoop && System.nanoTime() < deadline) {
+                        send(System.nanoTime(), true);
+                    }
+                });
+    }
+
+    private void record(LoadOperation operation, HttpResponse<String> response, Throwable failure, long latencyMicros) {
+        recorders.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        if (failure != null) {
+            errors.get(operation).increment();
+        } else if (response.statusCode() == 409) {
+            conflicts.get(operation).increment();
+        } else if (response.statusCode() >= 400) {
+            errors.get(operation).increment();
+        } else if (operation == LoadOperation.CREATE) {
+            try {
+                createdIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            } catch (JsonProcessingException ex) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private LoadOperation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private HttpRequest buildRequest(LoadOperation operation, Long deleteId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = catalogIds[random.nextInt(catalogIds.length)];
+        return switch (operation) {
+            case GET_BY_ID -> request("/" + id).GET().build();
+            case LIST -> request("?size=50&sort=" + (random.nextBoolean() ? "price" : "id")).GET().build();
+            case CHANGE_PRICE -> request("/" + id + "/change-price?newPrice=" + BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case CHANGE_STOCK -> request("/" + id + "/change-stock?newStockQuantity=" + random.nextInt(0, 1_000))
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case CHANGE_CATEGORY -> request("/" + id + "/change-category?newCategory=" + CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case CREATE -> {
+                try {
+                    yield request("")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(product("Load created"))))
+                            .build();
+                } catch (JsonProcessingException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            case DELETE -> request("/" + deleteId).DELETE().build();
+        };
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve("/api/products" + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization);
+    }
+
+    private static ProductDto product(String name) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return ProductDto.builder()
+                .name(name)
+                .description("Created by the load generator")
+                .price(BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                .stockQuantity(random.nextInt(0, 1_000))
+                .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                .build();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
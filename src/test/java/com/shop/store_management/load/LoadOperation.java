@@ -0,0 +1,33 @@
+package com.shop.store_management.load;
+
+import java.util.Arrays;
+
+/**
+ * The {@code ProductController} calls a load run can mix, by the name used in {@code -Dload.mix}.
+ */
+enum LoadOperation {
+    GET_BY_ID("getById"),
+    LIST("list"),
+    CHANGE_PRICE("changePrice"),
+    CHANGE_STOCK("changeStock"),
+    CHANGE_CATEGORY("changeCategory"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    LoadOperation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static LoadOperation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load operation '" + key + "'"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.shop.store_management.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Plain-text report: the settings, a per-operation summary table, and the full HdrHistogram percentile
+ * distribution of each operation (in milliseconds) for plotting.
+ */
+final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private LoadReport() {
+    }
+
+    static String summary(LoadTestSettings settings, LoadResult result) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("mode=%s concurrency=%d rate=%.0f/s warmup=%ds duration=%ds catalog=%d%n",
+                settings.mode(), settings.concurrency(), settings.ratePerSecond(), settings.warmup().toSeconds(),
+                settings.duration().toSeconds(), settings.catalogSize()));
+        report.append("mix=").append(settings.mix()).append(System.lineSeparator());
+        if (!settings.openLoop()) {
+            report.append("closed loop: latencies exclude time requests waited to be sent").append(System.lineSeparator());
+        }
+        report.append(System.lineSeparator());
+
+        double seconds = result.elapsed().toNanos() / 1e9;
+        report.append(String.format("%-16s %9s %7s %9s %9s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "conflicts", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<LoadOperation, Histogram> entry : result.latencies().entrySet()) {
+            LoadOperation operation = entry.getKey();
+            Histogram histogram = entry.getValue();
+            report.append(String.format("%-16s %9d %7d %9d %9.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.key(), histogram.getTotalCount(), result.errors().get(operation),
+                    result.conflicts().get(operation), histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+        }
+        report.append(String.format("%-16s %9d %7d %9s %9.1f%n", "total", result.totalRequests(), result.totalErrors(),
+                "", result.totalRequests() / seconds));
+        return report.toString();
+    }
+
+    static Path write(String label, LoadTestSettings settings, LoadResult result) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            out.print(summary(settings, result));
+            result.latencies().forEach((operation, histogram) -> {
+                out.println();
+                out.println("# " + operation.key());
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            });
+        }
+        Files.createDirectories(settings.reportDirectory());
+        Path file = settings.reportDirectory().resolve("load-" + label + "-" + settings.mode() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.write(file, buffer.toByteArray());
+        return file;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
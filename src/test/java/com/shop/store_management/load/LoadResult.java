@@ -0,0 +1,22 @@
+package com.shop.store_management.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Measured phase of a load run. Histograms are in microseconds; 409 conflicts are counted apart from
+ * errors because concurrent changes to one product are expected to be rejected.
+ */
+record LoadResult(Map<LoadOperation, Histogram> latencies, Map<LoadOperation, Long> errors,
+                  Map<LoadOperation, Long> conflicts, Duration elapsed) {
+
+    long totalRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,64 @@
+package com.shop.store_management.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load run parameters, read from {@code -Dload.*} system properties, e.g.
+ * {@code mvn test -Pload -Dload.mode=open -Dload.rate=800 -Dload.mix=getById=80,changePrice=20}.
+ *
+ * @param mode         {@code closed}: {@code concurrency} clients each wait for their response before
+ *                     sending the next request; {@code open}: requests start at a fixed {@code rate}
+ *                     whatever the server does, and latency is measured from the intended start time
+ * @param concurrency  in-flight requests in closed mode
+ * @param ratePerSecond arrival rate in open mode
+ * @param catalogSize  products seeded before the run; reads and changes target these
+ */
+record LoadTestSettings(String mode, int concurrency, double ratePerSecond, Duration warmup, Duration duration,
+                        Map<LoadOperation, Integer> mix, int catalogSize, String username, String password,
+                        Path reportDirectory) {
+
+    static final String DEFAULT_MIX = "getById=50,list=15,changePrice=10,changeStock=10,changeCategory=5,create=5,delete=5";
+
+    static LoadTestSettings fromSystemProperties() {
+        String mode = System.getProperty("load.mode", "closed");
+        if (!mode.equals("closed") && !mode.equals("open")) {
+            throw new IllegalArgumentException("load.mode must be 'closed' or 'open'");
+        }
+        return new LoadTestSettings(
+                mode,
+                Integer.getInteger("load.concurrency", 32),
+                Double.parseDouble(System.getProperty("load.rate", "500")),
+                Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10)),
+                Duration.ofSeconds(Long.getLong("load.durationSeconds", 30)),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                Integer.getInteger("load.catalogSize", 5_000),
+                System.getProperty("load.user", "admin"),
+                System.getProperty("load.password", "pass"),
+                Path.of(System.getProperty("load.reportDir", "target/load-reports")));
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("load.mix entries look like 'getById=50', got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+
+    boolean openLoop() {
+        return mode.equals("open");
+    }
+}
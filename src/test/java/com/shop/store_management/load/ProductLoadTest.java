@@ -0,0 +1,49 @@
+package com.shop.store_management.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load against the embedded server and in-memory H2. Run with {@code mvn test -Pload};
+ * see {@link LoadTestSettings} for the knobs. Each run writes a report to {@code target/load-reports}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "logging.level.com.shop.store_management=WARN",
+                "logging.level.com.shop.store_management.load=INFO"})
+class ProductLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void runLoad() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), settings, objectMapper)) {
+            generator.seedCatalog();
+            LoadResult result = generator.run();
+
+            Path report = LoadReport.write("products", settings, result);
+            log.info("Load report written to {}{}{}", report.toAbsolutePath(), System.lineSeparator(),
+                    LoadReport.summary(settings, result));
+
+            assertTrue(result.totalRequests() > 0, "no requests completed");
+            assertTrue(result.totalErrors() <= result.totalRequests() / 100, "more than 1% of requests failed");
+        }
+    }
+}
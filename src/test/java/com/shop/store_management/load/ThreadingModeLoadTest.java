@@ -0,0 +1,66 @@
+package com.shop.store_management.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.StoreManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same load against a platform-thread server and a virtual-thread server, one after the
+ * other, each with a fresh in-memory database. Run with
+ * {@code mvn test -Pload -Dtest=ThreadingModeLoadTest}; raise {@code -Dload.concurrency} above
+ * {@code server.tomcat.threads.max} to see the platform pool saturate. On Java 17 the second run
+ * falls back to platform threads and its report says so.
+ */
+@Slf4j
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        StringBuilder comparison = new StringBuilder();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String label = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(label, virtual);
+                 LoadGenerator generator = new LoadGenerator(baseUri(context), settings,
+                         context.getBean(ObjectMapper.class))) {
+                generator.seedCatalog();
+                LoadResult result = generator.run();
+                Path report = LoadReport.write(label, settings, result);
+
+                boolean active = Threading.VIRTUAL.isActive(context.getEnvironment());
+                comparison.append(String.format("%n== %s threads (virtual threads %s) -> %s%n", label,
+                        active ? "active" : "inactive", report.toAbsolutePath()));
+                comparison.append(LoadReport.summary(settings, result));
+                assertTrue(result.totalErrors() <= result.totalRequests() / 100, label + ": more than 1% of requests failed");
+            }
+        }
+        log.info("Threading mode comparison:{}", comparison);
+    }
+
+    private static ConfigurableApplicationContext start(String label, boolean virtualThreads) {
+        return new SpringApplicationBuilder(StoreManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + label + ";DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.com.shop.store_management=WARN",
+                        "logging.level.com.shop.store_management.load=INFO")
+                .run();
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+    }
+}
@@ -0,0 +1,33 @@
+package com.shop.store_management.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.model.entities.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductJsonSerializerTest {
+
+    private final ObjectMapper dtoMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ObjectMapper entityMapper = Jackson2ObjectMapperBuilder.json()
+            .serializers(new ProductJsonSerializer())
+            .build();
+
+    private final ProductMapper productMapper = new ProductMapper();
+
+    @Test
+    void testSerialize_matchesDtoJson() throws Exception {
+        Product laptop = Product.builder().id(1L).name("Laptop \"Pro\"").description("15\" screen")
+                .price(new BigDecimal("1999.90")).stockQuantity(3).category("Electronics").version(4L).build();
+        Product draft = Product.builder().name("Draft").price(BigDecimal.TEN).build();
+        List<Product> products = List.of(laptop, draft);
+
+        assertEquals(dtoMapper.writeValueAsString(productMapper.toDtoList(products)),
+                entityMapper.writeValueAsString(products));
+    }
+}
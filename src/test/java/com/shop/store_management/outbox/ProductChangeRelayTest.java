@@ -0,0 +1,96 @@
+package com.shop.store_management.outbox;
+
+import com.shop.store_management.config.OutboxProperties;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.mapper.ProductChangeMapper;
+import com.shop.store_management.model.dtos.ProductChangeDto;
+import com.shop.store_management.model.entities.ProductChange;
+import com.shop.store_management.repository.ProductChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeRelayTest {
+
+    @Mock
+    private ProductChangeRepository changeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<ProductChangeDto> delivered = new ArrayList<>();
+
+    private boolean sinkDown;
+
+    private ProductChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ProductChangeSink sink = changes -> {
+            if (sinkDown) {
+                throw new IOException("sink unavailable");
+            }
+            delivered.addAll(changes);
+        };
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        relay = new ProductChangeRelay(changeRepository, new ProductChangeMapper(), sink, transactionTemplate,
+                new OutboxProperties());
+    }
+
+    @Test
+    void testRelayPending_success() {
+        when(changeRepository.findUnpublished(Limit.of(500)))
+                .thenReturn(List.of(change(1L), change(2L)))
+                .thenReturn(List.of());
+
+        relay.relayPending();
+
+        assertEquals(List.of(1L, 2L), delivered.stream().map(ProductChangeDto::getSeq).toList());
+        verify(changeRepository).markPublished(any(), any(Instant.class));
+    }
+
+    @Test
+    void testRelayPending_sinkFailureLeavesBatchUnpublished() {
+        sinkDown = true;
+        when(changeRepository.findUnpublished(Limit.of(500))).thenReturn(List.of(change(1L)));
+
+        relay.relayPending();
+
+        verify(changeRepository, never()).markPublished(anyList(), any());
+    }
+
+    private static ProductChange change(long seq) {
+        return ProductChange.builder()
+                .seq(seq)
+                .productId(seq)
+                .type(ProductChangeType.STOCK_CHANGED)
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
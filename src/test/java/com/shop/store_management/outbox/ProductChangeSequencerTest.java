@@ -0,0 +1,71 @@
+package com.shop.store_management.outbox;
+
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.model.entities.ProductChange;
+import com.shop.store_management.repository.ProductChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProductChangeSequencerTest {
+
+    @Autowired
+    private ProductChangeSequencer sequencer;
+
+    @Autowired
+    private ProductChangeRepository changeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testSequencePending_followsCommitOrder() throws Exception {
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = changeRepository.save(change()).getId();
+            recorded.countDown();
+            await(commit);
+            return id;
+        }));
+        assertTrue(recorded.await(5, TimeUnit.SECONDS));
+        Long fast = transactionTemplate.execute(status -> changeRepository.save(change()).getId());
+
+        sequencer.sequencePending();
+        commit.countDown();
+        Long slowId = slow.get(5, TimeUnit.SECONDS);
+        assertNull(changeRepository.findById(slowId).orElseThrow().getSeq());
+        sequencer.sequencePending();
+
+        Long fastSeq = changeRepository.findById(fast).orElseThrow().getSeq();
+        Long slowSeq = changeRepository.findById(slowId).orElseThrow().getSeq();
+        assertTrue(slowId < fast);
+        assertTrue(slowSeq > fastSeq, "a change committed later must get a later position");
+    }
+
+    private static ProductChange change() {
+        return ProductChange.builder()
+                .productId(1L)
+                .type(ProductChangeType.STOCK_CHANGED)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
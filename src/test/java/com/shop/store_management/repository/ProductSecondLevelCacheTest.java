@@ -0,0 +1,118 @@
+package com.shop.store_management.repository;
+
+import com.shop.store_management.model.dtos.ProductPatch;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.service.ProductService;
+import com.shop.store_management.service.ProductWriteBuffer;
+import com.shop.store_management.service.StockReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProductSecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductWriteBuffer writeBuffer;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = productRepository.save(Product.builder()
+                .name("Second-level lamp")
+                .description("Lamp")
+                .price(BigDecimal.valueOf(40))
+                .stockQuantity(3)
+                .category("Lighting")
+                .build()).getId();
+        entityManagerFactory.getCache().evict(Product.class);
+    }
+
+    @Test
+    void testFindById_servedFromSecondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        productRepository.findById(productId);
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        productRepository.findById(productId);
+
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testWriteBufferFlush_evictsSecondLevelCache() {
+        productRepository.findById(productId);
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, productId));
+
+        writeBuffer.changePrice(productId, BigDecimal.valueOf(45));
+        writeBuffer.flush();
+
+        assertFalse(entityManagerFactory.getCache().contains(Product.class, productId));
+        assertEquals(0, BigDecimal.valueOf(45).compareTo(productRepository.findById(productId).orElseThrow().getPrice()));
+    }
+
+    @Test
+    void testReserve_evictsOnlyTheReservedProduct() {
+        Long otherId = productRepository.save(Product.builder()
+                .name("Second-level shade")
+                .description("Shade")
+                .price(BigDecimal.valueOf(15))
+                .stockQuantity(8)
+                .category("Lighting")
+                .build()).getId();
+        productRepository.findById(productId);
+        productRepository.findById(otherId);
+
+        stockReservationService.reserve(productId, 2);
+
+        assertFalse(entityManagerFactory.getCache().contains(Product.class, productId));
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, otherId));
+        assertEquals(1, productRepository.findById(productId).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    @WithMockUser
+    void testPatchInPlace_evictsOnlyThePatchedProduct() {
+        Long otherId = productRepository.save(Product.builder()
+                .name("Second-level bulb")
+                .description("Bulb")
+                .price(BigDecimal.valueOf(5))
+                .stockQuantity(20)
+                .category("Lighting")
+                .build()).getId();
+        productRepository.findById(productId);
+        productRepository.findById(otherId);
+
+        productService.patchProductInPlace(productId, ProductPatch.builder().price(BigDecimal.valueOf(42)).build(), null);
+
+        assertFalse(entityManagerFactory.getCache().contains(Product.class, productId));
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, otherId));
+        assertEquals(0, BigDecimal.valueOf(42).compareTo(productRepository.findById(productId).orElseThrow().getPrice()));
+    }
+}
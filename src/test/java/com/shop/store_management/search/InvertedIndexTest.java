@@ -0,0 +1,84 @@
+package com.shop.store_management.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer(true);
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void testSearch_ranksMoreSpecificMatchFirst() {
+        index.put(1L, terms("Gaming laptop with RGB keyboard"));
+        index.put(2L, terms("Laptop sleeve"));
+        index.put(3L, terms("Wireless mouse"));
+
+        List<SearchHit> hits = index.search(query("laptop keyboard"), 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(SearchHit::productId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void testSearch_stemsPlurals() {
+        index.put(1L, terms("AA batteries"));
+
+        assertEquals(1L, index.search(query("battery"), 10).get(0).productId());
+    }
+
+    @Test
+    void testSearch_keepsOnlyTopHits() {
+        for (long id = 1; id <= 50; id++) {
+            index.put(id, terms(id % 5 == 0 ? "phone phone case" : "phone"));
+        }
+
+        List<SearchHit> hits = index.search(query("case"), 3);
+
+        assertEquals(3, hits.size());
+        hits.forEach(hit -> assertEquals(0, hit.productId() % 5));
+    }
+
+    @Test
+    void testPut_replacesAndRemoveDropsDocument() {
+        index.put(1L, terms("Desk lamp"));
+        index.put(1L, terms("Floor lamp"));
+        index.put(2L, terms("Desk chair"));
+        index.remove(2L);
+
+        assertTrue(index.search(query("desk chair"), 10).isEmpty());
+        assertEquals(1L, index.search(query("floor"), 10).get(0).productId());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testRemove_compactionKeepsPostingsConsistent() {
+        for (long id = 0; id < 3000; id++) {
+            index.put(id, terms("item " + id));
+        }
+        for (long id = 0; id < 2900; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(100, index.size());
+        assertEquals(2950L, index.search(query("2950"), 10).get(0).productId());
+        assertEquals(10, index.search(query("item"), 10).size());
+    }
+
+    private Map<String, Integer> terms(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        analyzer.analyze(text, term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+
+    private List<String> query(String text) {
+        return terms(text).keySet().stream().toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.shop.store_management.security;
+
+import com.shop.store_management.config.AuthenticationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private final InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(user("hash-1"));
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new CachingAuthenticationProvider(delegate, users, new AuthenticationCacheProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testAuthenticate_cachesVerifiedCredentials() {
+        when(delegate.authenticate(any())).thenReturn(verified("hash-1"));
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass"));
+
+        assertTrue(second.isAuthenticated());
+        assertEquals("user", second.getName());
+        assertNull(second.getCredentials());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_USER"), second.getAuthorities());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_differentPasswordGoesToDelegate() {
+        when(delegate.authenticate(any()))
+                .thenReturn(verified("hash-1"))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_failuresAreNotCached() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(BadCredentialsException.class,
+                    () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong")));
+        }
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_changedUserEvictsCachedCredentials() {
+        when(delegate.authenticate(any())).thenReturn(verified("hash-1"))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass"));
+
+        users.updateUser(user("hash-2"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_removedUserEvictsCachedCredentials() {
+        when(delegate.authenticate(any())).thenReturn(verified("hash-1"))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass"));
+
+        users.deleteUser("user");
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "pass")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static UserDetails user(String passwordHash) {
+        return User.withUsername("user").password(passwordHash).roles("USER").build();
+    }
+
+    private static Authentication verified(String passwordHash) {
+        UserDetails principal = user(passwordHash);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+}
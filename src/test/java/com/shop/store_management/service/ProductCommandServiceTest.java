@@ -0,0 +1,60 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.model.dtos.StockReservationItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCommandServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private ProductWriteBuffer writeBuffer;
+
+    @InjectMocks
+    private ProductCommandService productCommands;
+
+    @Test
+    void testChangePrice_flushesBufferedChangesFirst() {
+        productCommands.changePrice(1L, new BigDecimal("10.00"), 3L);
+
+        InOrder order = inOrder(writeBuffer, productService);
+        order.verify(writeBuffer).flushPending(1L);
+        order.verify(productService).changePrice(1L, new BigDecimal("10.00"), 3L);
+    }
+
+    @Test
+    void testReserveAll_flushesEveryProductInCart() {
+        List<StockReservationItem> items = List.of(new StockReservationItem(2L, 1), new StockReservationItem(5L, 4));
+
+        productCommands.reserveAll(items);
+
+        InOrder order = inOrder(writeBuffer, stockReservationService);
+        order.verify(writeBuffer).flushPending(List.of(2L, 5L));
+        order.verify(stockReservationService).reserveAll(items);
+    }
+
+    @Test
+    void testReserve_failedFlushSkipsReservation() {
+        doThrow(new IllegalStateException("flush failed")).when(writeBuffer).flushPending(4L);
+
+        assertThrows(IllegalStateException.class, () -> productCommands.reserve(4L, 1));
+
+        verifyNoInteractions(stockReservationService);
+    }
+}
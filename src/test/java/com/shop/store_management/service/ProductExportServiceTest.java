@@ -0,0 +1,57 @@
+package com.shop.store_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.store_management.mapper.ProductJsonSerializer;
+import com.shop.store_management.model.entities.Product;
+import com.shop.store_management.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProductExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ProductExportService(productRepository, new ProductJsonSerializer(), entityManager, new ObjectMapper());
+    }
+
+    @Test
+    void testExportTo_writesOneJsonObjectPerLine() throws IOException {
+        Product laptop = Product.builder().id(1L).name("Laptop").price(BigDecimal.valueOf(1000)).build();
+        Product phone = Product.builder().id(2L).name("Phone").price(BigDecimal.valueOf(500)).build();
+        when(productRepository.streamAllOrderById()).thenReturn(Stream.of(laptop, phone));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"Phone\""));
+        verify(entityManager).detach(laptop);
+        verify(entityManager).detach(phone);
+    }
+}
@@ -0,0 +1,160 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.ReadCoalescingProperties;
+import com.shop.store_management.config.ReplicaRoutingDataSource;
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.model.ProductSortField;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.ProductPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReadCoalescerTest {
+
+    @Mock
+    private ProductService productService;
+
+    private final ReadCoalescingProperties properties = new ReadCoalescingProperties();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    private ProductReadCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ProductReadCoalescer(productService, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testGetProductById_concurrentCallsShareOneLookup() throws Exception {
+        ProductDto product = ProductDto.builder().id(1L).name("Hot item").build();
+        CountDownLatch release = new CountDownLatch(1);
+        when(productService.getProductById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return product;
+        });
+
+        List<CompletableFuture<ProductDto>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> coalescer.getProductById(1L), callers));
+        }
+        awaitRequests("shared", 3);
+        release.countDown();
+
+        for (CompletableFuture<ProductDto> result : results) {
+            assertSame(product, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(productService, times(1)).getProductById(1L);
+        assertEquals(1, requests("executed"));
+    }
+
+    @Test
+    void testGetProductById_batchWindowMergesDistinctIds() throws Exception {
+        properties.setBatchWindow(Duration.ofMillis(300));
+        when(productService.getProductsByIds(Set.of(1L, 2L))).thenReturn(Map.of(
+                1L, ProductDto.builder().id(1L).build(),
+                2L, ProductDto.builder().id(2L).build()));
+
+        CompletableFuture<ProductDto> first = CompletableFuture.supplyAsync(() -> coalescer.getProductById(1L), callers);
+        CompletableFuture<ProductDto> second = CompletableFuture.supplyAsync(() -> coalescer.getProductById(2L), callers);
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2L, second.get(5, TimeUnit.SECONDS).getId());
+        verify(productService, times(1)).getProductsByIds(Set.of(1L, 2L));
+        verify(productService, never()).getProductById(any());
+    }
+
+    @Test
+    void testGetProductById_batchedMissingIdNotFound() {
+        properties.setBatchWindow(Duration.ofMillis(1));
+        when(productService.getProductsByIds(Set.of(3L))).thenReturn(Map.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> coalescer.getProductById(3L));
+    }
+
+    @Test
+    void testGetAllProducts_clientReadingFromPrimaryDoesNotJoinReplicaRead() throws Exception {
+        ProductPage page = ProductPage.builder().items(List.of()).size(20).sort("id").build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productService.getAllProducts(null, 20, ProductSortField.ID)).thenAnswer(invocation -> {
+            if (!ReplicaRoutingDataSource.readsFromPrimary()) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return page;
+        });
+        CompletableFuture<ProductPage> replicaRead = CompletableFuture.supplyAsync(
+                () -> coalescer.getAllProducts(null, 20, ProductSortField.ID), callers);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ReplicaRoutingDataSource.CLIENT_ATTRIBUTE, new ReplicaRoutingDataSource.Client() {
+            @Override
+            public void wrote() {
+            }
+
+            @Override
+            public boolean wroteRecently() {
+                return true;
+            }
+        });
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            coalescer.getAllProducts(null, 20, ProductSortField.ID);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        verify(productService, times(2)).getAllProducts(null, 20, ProductSortField.ID);
+        release.countDown();
+        replicaRead.get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitRequests(String outcome, long expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && requests(outcome) < expected; attempt++) {
+            Thread.sleep(10);
+        }
+        assertTrue(requests(outcome) >= expected, "expected " + expected + " " + outcome + " requests");
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get(SingleFlight.REQUESTS_METER).tag("read", "by_id").tag("outcome", outcome)
+                .counter().count();
+    }
+}
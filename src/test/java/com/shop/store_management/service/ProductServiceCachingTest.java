@@ -0,0 +1,83 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@WithMockUser
+class ProductServiceCachingTest {
+
+    @SpyBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productId = productService.createProduct(ProductDto.builder()
+                .name("Cached laptop")
+                .description("Laptop")
+                .price(BigDecimal.valueOf(1000))
+                .stockQuantity(10)
+                .category("Electronics")
+                .build()).getId();
+        clearInvocations(productRepository);
+    }
+
+    @Test
+    void testGetProductById_servedFromCacheAfterCreate() {
+        productService.getProductById(productId);
+        productService.getProductById(productId);
+
+        verify(productRepository, never()).findById(productId);
+    }
+
+    @Test
+    void testChangePrice_updatesCachedEntry() {
+        productService.changePrice(productId, BigDecimal.valueOf(1200), null);
+        clearInvocations(productRepository);
+
+        ProductDto cached = productService.getProductById(productId);
+
+        assertEquals(0, BigDecimal.valueOf(1200).compareTo(cached.getPrice()));
+        verify(productRepository, never()).findById(productId);
+    }
+
+    @Test
+    void testReserve_evictsCachedEntry() {
+        productService.getProductById(productId);
+
+        stockReservationService.reserve(productId, 4);
+
+        assertEquals(6, productService.getProductById(productId).getStockQuantity());
+        verify(productRepository, times(1)).findById(productId);
+    }
+
+    @Test
+    void testDeleteProduct_evictsCachedEntry() {
+        productService.getProductById(productId);
+
+        productService.deleteProduct(productId, null);
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(productId));
+    }
+}
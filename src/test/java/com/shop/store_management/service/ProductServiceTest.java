@@ -1,20 +1,46 @@
 package com.shop.store_management.service;
 
+import com.shop.store_management.config.FullTextSearchProperties;
+import com.shop.store_management.config.ProductPagingProperties;
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.exception.PreconditionFailedException;
 import com.shop.store_management.exception.ResourceNotFoundException;
 import com.shop.store_management.exception.UnauthorizedAccessException;
+import com.shop.store_management.exception.ValidationException;
 import com.shop.store_management.mapper.ProductMapper;
+import com.shop.store_management.model.ProductSortField;
 import com.shop.store_management.model.dtos.ProductDto;
+import com.shop.store_management.model.dtos.CategorySummaryDto;
+import com.shop.store_management.model.dtos.FullTextSearchHit;
+import com.shop.store_management.model.dtos.ProductPage;
+import com.shop.store_management.model.dtos.ProductPatch;
+import com.shop.store_management.model.dtos.ProductSearchCriteria;
+import com.shop.store_management.model.dtos.ProductSearchResult;
 import com.shop.store_management.model.entities.Product;
 import com.shop.store_management.repository.ProductRepository;
+import com.shop.store_management.search.ProductFullTextIndex;
+import com.shop.store_management.search.SearchHit;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +49,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -36,6 +64,27 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Spy
+    private ProductPagingProperties pagingProperties = new ProductPagingProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductFullTextIndex fullTextIndex;
+
+    @Spy
+    private FullTextSearchProperties fullTextProperties = new FullTextSearchProperties();
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ProductCacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private ProductService productService;
 
@@ -72,37 +121,121 @@ class ProductServiceTest {
 
         assertEquals("Laptop", result.getName());
         verify(productRepository).save(product);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.of(ProductChangeType.CREATED, productDto));
     }
 
     @Test
     void testChangePrice_success() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
         when(productMapper.toDto(any())).thenReturn(productDto);
 
-        ProductDto result = productService.changePrice(1L, BigDecimal.valueOf(1200));
+        ProductDto result = productService.changePrice(1L, BigDecimal.valueOf(1200), null);
 
         assertEquals("Laptop", result.getName());
         assertEquals(BigDecimal.valueOf(1200), product.getPrice());
-        verify(productRepository).save(product);
+        verify(productRepository).saveAndFlush(product);
     }
 
     @Test
     void testChangePrice_notFound() {
         when(productRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> productService.changePrice(99L, BigDecimal.valueOf(1200)));
+        assertThrows(ResourceNotFoundException.class, () -> productService.changePrice(99L, BigDecimal.valueOf(1200), null));
     }
 
     @Test
     void testGetAllProducts_success() {
-        when(productRepository.findAll()).thenReturn(List.of(product));
-        when(productMapper.toDtoList(any())).thenReturn(List.of(productDto));
+        when(productRepository.findBy(Sort.by("id"), Limit.of(51))).thenReturn(List.of(product));
+
+        ProductPage result = productService.getAllProducts(null, null, ProductSortField.ID);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Laptop", result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetAllProducts_nextPageFollowsCursor() {
+        Product second = Product.builder().id(2L).name("Phone").price(BigDecimal.valueOf(1000)).build();
+        when(productRepository.findBy(Sort.by("price", "id"), Limit.of(2))).thenReturn(List.of(product, second));
+
+        ProductPage first = productService.getAllProducts(null, 1, ProductSortField.PRICE);
+        assertNotNull(first.getNextCursor());
+
+        productService.getAllProducts(first.getNextCursor(), 1, ProductSortField.PRICE);
 
-        List<ProductDto> result = productService.getAllProducts();
+        verify(productRepository).findPageAfterPrice(new BigDecimal("1000"), 1L, Limit.of(2));
+    }
+
+    @Test
+    void testGetAllProducts_idCursorCarriesOnlyTheId() {
+        Product second = Product.builder().id(2L).name("Phone").price(BigDecimal.valueOf(1000)).build();
+        when(productRepository.findBy(Sort.by("id"), Limit.of(2))).thenReturn(List.of(product, second));
 
-        assertEquals(1, result.size());
-        assertEquals("Laptop", result.get(0).getName());
+        ProductPage first = productService.getAllProducts(null, 1, ProductSortField.ID);
+        assertEquals("id|1", new String(Base64.getUrlDecoder().decode(first.getNextCursor()), StandardCharsets.UTF_8));
+
+        productService.getAllProducts(first.getNextCursor(), 1, ProductSortField.ID);
+
+        verify(productRepository).findPageAfterId(1L, Limit.of(2));
+    }
+
+    @Test
+    void testGetAllProducts_cursorForDifferentSort() {
+        Product second = Product.builder().id(2L).name("Phone").price(BigDecimal.valueOf(1000)).build();
+        when(productRepository.findBy(Sort.by("price", "id"), Limit.of(2))).thenReturn(List.of(product, second));
+
+        String cursor = productService.getAllProducts(null, 1, ProductSortField.PRICE).getNextCursor();
+
+        assertThrows(ValidationException.class, () -> productService.getAllProducts(cursor, 1, ProductSortField.NAME));
+    }
+
+    @Test
+    void testSearchProducts_success() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder().category("Electronics").build();
+        PageRequest pageRequest = PageRequest.of(0, 50, Sort.by("price", "id"));
+        when(productRepository.search(criteria, pageRequest)).thenReturn(new PageImpl<>(List.of(productDto)));
+        when(productRepository.countByCategory(criteria)).thenReturn(List.of(new CategorySummaryDto("Electronics", 1L)));
+
+        ProductSearchResult result = productService.searchProducts(criteria, 0, null, ProductSortField.PRICE);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Laptop", result.getItems().get(0).getName());
+        assertEquals(1L, result.getFacets().get(0).getProductCount());
+    }
+
+    @Test
+    void testSearchProducts_invalidPriceRange() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder()
+                .minPrice(BigDecimal.TEN)
+                .maxPrice(BigDecimal.ONE)
+                .build();
+
+        assertThrows(ValidationException.class,
+                () -> productService.searchProducts(criteria, 0, null, ProductSortField.ID));
+    }
+
+    @Test
+    void testSearchFullText_success() {
+        Product mouse = new Product();
+        mouse.setId(2L);
+        ProductDto mouseDto = ProductDto.builder().id(2L).name("Mouse").build();
+        when(fullTextIndex.search("laptop mouse", 20)).thenReturn(List.of(new SearchHit(2L, 3.0), new SearchHit(1L, 1.5)));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(product, mouse));
+        when(productMapper.toDto(product)).thenReturn(productDto);
+        when(productMapper.toDto(mouse)).thenReturn(mouseDto);
+
+        List<FullTextSearchHit> result = productService.searchFullText("laptop mouse", null);
+
+        assertEquals(List.of("Mouse", "Laptop"), result.stream().map(hit -> hit.getProduct().getName()).toList());
+        assertEquals(3.0, result.get(0).getScore());
+    }
+
+    @Test
+    void testSearchFullText_blankQuery() {
+        assertThrows(ValidationException.class, () -> productService.searchFullText(" ", null));
+        verifyNoInteractions(fullTextIndex);
     }
 
     @Test
@@ -125,29 +258,38 @@ class ProductServiceTest {
     @Test
     void testUpdateProduct_success() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any())).thenReturn(product);
+        when(productRepository.saveAndFlush(any())).thenReturn(product);
         when(productMapper.toDto(any())).thenReturn(productDto);
 
-        ProductDto result = productService.updateProduct(1L, productDto);
+        ProductDto result = productService.updateProduct(1L, productDto, null);
 
         assertEquals("Laptop", result.getName());
-        verify(productRepository).save(product);
+        verify(productRepository).saveAndFlush(product);
     }
 
     @Test
     void testUpdateProduct_notFound() {
         when(productRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> productService.updateProduct(99L, productDto));
+        assertThrows(EntityNotFoundException.class, () -> productService.updateProduct(99L, productDto, null));
+    }
+
+    @Test
+    void testUpdateProduct_versionMismatch() {
+        product.setVersion(3L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertThrows(PreconditionFailedException.class, () -> productService.updateProduct(1L, productDto, 2L));
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testChangeStockQuantity_success() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any())).thenReturn(product);
+        when(productRepository.saveAndFlush(any())).thenReturn(product);
         when(productMapper.toDto(any())).thenReturn(productDto);
 
-        ProductDto result = productService.changeStockQuantity(1L, 50);
+        ProductDto result = productService.changeStockQuantity(1L, 50, null);
 
         assertEquals("Laptop", result.getName());
         assertEquals(50, product.getStockQuantity());
@@ -157,16 +299,16 @@ class ProductServiceTest {
     void testChangeStockQuantity_notFound() {
         when(productRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> productService.changeStockQuantity(99L, 50));
+        assertThrows(ResourceNotFoundException.class, () -> productService.changeStockQuantity(99L, 50, null));
     }
 
     @Test
     void testChangeCategory_success() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any())).thenReturn(product);
+        when(productRepository.saveAndFlush(any())).thenReturn(product);
         when(productMapper.toDto(any())).thenReturn(productDto);
 
-        ProductDto result = productService.changeCategory(1L, "New Category");
+        ProductDto result = productService.changeCategory(1L, "New Category", null);
 
         assertEquals("Laptop", result.getName());
         assertEquals("New Category", product.getCategory());
@@ -176,23 +318,33 @@ class ProductServiceTest {
     void testChangeCategory_notFound() {
         when(productRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> productService.changeCategory(99L, "New Category"));
+        assertThrows(ResourceNotFoundException.class, () -> productService.changeCategory(99L, "New Category", null));
     }
 
     @Test
     void testDeleteProduct_success() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
-        productService.deleteProduct(1L);
+        productService.deleteProduct(1L, null);
 
         verify(productRepository).delete(product);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void testDeleteProduct_versionMismatch() {
+        product.setVersion(3L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertThrows(PreconditionFailedException.class, () -> productService.deleteProduct(1L, 2L));
+        verify(productRepository, never()).delete(any());
     }
 
     @Test
     void testDeleteProduct_notFound() {
         when(productRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(99L));
+        assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(99L, null));
     }
 
     @Test
@@ -201,4 +353,50 @@ class ProductServiceTest {
 
         assertThrows(UnauthorizedAccessException.class, () -> productService.createProduct(productDto));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPatchProduct_success() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(productMapper.toDto(any())).thenReturn(productDto);
+
+        productService.patchProduct(1L, ProductPatch.builder().price(BigDecimal.valueOf(1200)).build(), null);
+
+        assertEquals(BigDecimal.valueOf(1200), product.getPrice());
+        assertEquals("Laptop", product.getName());
+        verify(productRepository).saveAndFlush(product);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.of(ProductChangeType.PRICE_CHANGED, productDto));
+    }
+
+    @Test
+    void testPatchProduct_unchangedValuesSkipWrite() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productMapper.toDto(any())).thenReturn(productDto);
+
+        productService.patchProduct(1L, ProductPatch.builder().price(new BigDecimal("1000.00")).name("Laptop").build(), null);
+
+        verify(productRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchProductInPlace_success() {
+        ProductPatch patch = ProductPatch.builder().stockQuantity(5).build();
+        when(productRepository.patch(1L, patch, 3L)).thenReturn(1);
+
+        Long version = productService.patchProductInPlace(1L, patch, 3L);
+
+        assertEquals(4L, version);
+        verify(productRepository, never()).findById(any());
+        verify(cacheInvalidator).evictPersistenceCache(List.of(1L));
+    }
+
+    @Test
+    void testPatchProductInPlace_versionMismatch() {
+        ProductPatch patch = ProductPatch.builder().stockQuantity(5).build();
+        when(productRepository.patch(1L, patch, 3L)).thenReturn(0);
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        assertThrows(PreconditionFailedException.class, () -> productService.patchProductInPlace(1L, patch, 3L));
+    }
+}
@@ -0,0 +1,151 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.config.WriteBehindProperties;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "store.products.write-behind.enabled=true",
+        "store.products.write-behind.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductWriteBufferTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductWriteBuffer writeBuffer;
+
+    @Autowired
+    private WriteBehindProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testChangePrice_coalescedIntoOneWrite() throws Exception {
+        long version = row(3L).get("version") instanceof Number number ? number.longValue() : -1;
+
+        for (String price : new String[]{"10.00", "11.00", "12.50"}) {
+            mockMvc.perform(put("/api/products/3/change-price").param("newPrice", price))
+                    .andExpect(status().isAccepted());
+        }
+        mockMvc.perform(put("/api/products/3/change-stock").param("newStockQuantity", "7"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get("/api/products/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.price").value(12.5))
+                .andExpect(jsonPath("$.stockQuantity").value(7));
+        assertEquals(0, new BigDecimal("89.90").compareTo((BigDecimal) row(3L).get("price")));
+
+        writeBuffer.flush();
+
+        Map<String, Object> flushed = row(3L);
+        assertEquals(0, new BigDecimal("12.50").compareTo((BigDecimal) flushed.get("price")));
+        assertEquals(7, ((Number) flushed.get("stock_quantity")).intValue());
+        assertEquals(version + 1, ((Number) flushed.get("version")).longValue());
+        mockMvc.perform(get("/api/products/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.price").value(12.5));
+    }
+
+    @Test
+    void testReserve_flushesBufferedStockFirst() throws Exception {
+        mockMvc.perform(put("/api/products/4/change-stock").param("newStockQuantity", "12"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(post("/api/products/4/reserve").param("quantity", "2"))
+                .andExpect(status().isNoContent());
+
+        assertEquals(10, ((Number) row(4L).get("stock_quantity")).intValue());
+    }
+
+    @Test
+    void testReserve_failedFlushFailsReservation() throws Exception {
+        int stock = ((Number) row(2L).get("stock_quantity")).intValue();
+        // does not fit DECIMAL(10,2), so the flush fails
+        writeBuffer.changePrice(2L, new BigDecimal("1000000000000"));
+        writeBuffer.changeStockQuantity(2L, stock + 50);
+
+        assertThrows(ServletException.class,
+                () -> mockMvc.perform(post("/api/products/2/reserve").param("quantity", "1")));
+
+        assertEquals(stock, ((Number) row(2L).get("stock_quantity")).intValue());
+        assertTrue(writeBuffer.hasPending(2L));
+
+        writeBuffer.changePrice(2L, new BigDecimal("10.00"));
+        writeBuffer.changeStockQuantity(2L, stock);
+        writeBuffer.flush();
+        assertFalse(writeBuffer.hasPending(2L));
+    }
+
+    @Test
+    void testChangePrice_rejectedWhileFlushesFail() throws Exception {
+        BigDecimal price = (BigDecimal) row(5L).get("price");
+        Duration maxFailureDuration = properties.getMaxFailureDuration();
+        writeBuffer.changePrice(5L, new BigDecimal("1000000000000"));
+        writeBuffer.flush();
+        try {
+            properties.setMaxFailureDuration(Duration.ZERO);
+            Thread.sleep(5);
+
+            mockMvc.perform(put("/api/products/1/change-price").param("newPrice", "10.00"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+            assertFalse(writeBuffer.hasPending(1L));
+        } finally {
+            properties.setMaxFailureDuration(maxFailureDuration);
+        }
+
+        // within the default window changes are still taken; this one replaces the price that failed
+        mockMvc.perform(put("/api/products/5/change-price").param("newPrice", price.toPlainString()))
+                .andExpect(status().isAccepted());
+        writeBuffer.flush();
+        assertFalse(writeBuffer.hasPending());
+    }
+
+    @Test
+    void testChangePrice_unknownProductNotFound() throws Exception {
+        mockMvc.perform(put("/api/products/9999/change-price").param("newPrice", "10.00"))
+                .andExpect(status().isNotFound());
+
+        assertFalse(writeBuffer.hasPending(9999L));
+    }
+
+    @Test
+    void testChangeStock_negativeRejected() throws Exception {
+        mockMvc.perform(put("/api/products/4/change-stock").param("newStockQuantity", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap("SELECT price, stock_quantity, version FROM product WHERE id = ?", id);
+    }
+}
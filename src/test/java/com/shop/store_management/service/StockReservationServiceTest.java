@@ -0,0 +1,85 @@
+package com.shop.store_management.service;
+
+import com.shop.store_management.event.ProductChangeType;
+import com.shop.store_management.event.ProductChangedEvent;
+import com.shop.store_management.exception.InsufficientStockException;
+import com.shop.store_management.exception.ResourceNotFoundException;
+import com.shop.store_management.exception.ValidationException;
+import com.shop.store_management.model.dtos.StockReservationItem;
+import com.shop.store_management.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    @Test
+    void testReserve_success() {
+        when(productRepository.reserveStock(1L, 3)).thenReturn(1);
+
+        stockReservationService.reserve(1L, 3);
+
+        verify(productRepository).reserveStock(1L, 3);
+        verify(productRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(ProductChangedEvent.changed(ProductChangeType.STOCK_CHANGED, 1L));
+    }
+
+    @Test
+    void testReserve_insufficientStock() {
+        when(productRepository.reserveStock(1L, 3)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(InsufficientStockException.class, () -> stockReservationService.reserve(1L, 3));
+    }
+
+    @Test
+    void testReserve_notFound() {
+        when(productRepository.reserveStock(99L, 3)).thenReturn(0);
+        when(productRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> stockReservationService.reserve(99L, 3));
+    }
+
+    @Test
+    void testReserve_nonPositiveQuantity() {
+        assertThrows(ValidationException.class, () -> stockReservationService.reserve(1L, 0));
+    }
+
+    @Test
+    void testReserveAll_locksInIdOrderAndMergesDuplicates() {
+        when(productRepository.reserveStock(anyLong(), anyInt())).thenReturn(1);
+
+        stockReservationService.reserveAll(List.of(
+                new StockReservationItem(7L, 1),
+                new StockReservationItem(2L, 2),
+                new StockReservationItem(7L, 4)));
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).reserveStock(2L, 2);
+        inOrder.verify(productRepository).reserveStock(7L, 5);
+        verify(cacheInvalidator).evictProducts(Set.of(2L, 7L));
+    }
+}